@@ -2,76 +2,128 @@ document.addEventListener('DOMContentLoaded', () => {
     const searchBox = document.getElementById('search-box');
     const searchResults = document.querySelector('.search-results');
     const resultsTableBody = document.querySelector('#results-table tbody');
+    const timeTakenDiv = document.getElementById('time-taken');
+    const suggestionList = document.getElementById('suggestions');
+    const suggestAPI = searchAPI.replace(/\/search$/, '/suggest');
 
     // Initially hide the search-results div
     searchResults.style.display = 'none';
 
-    // Function to perform the search
-    const performSearch = async () => {
+    // The stream of the search in progress, closed when a new one starts
+    let currentStream = null;
+
+    const clearResults = () => {
+        resultsTableBody.innerHTML = '';
+        searchResults.style.display = 'none';
+        timeTakenDiv.textContent = '';
+    };
+
+    // Appends one row per movie, keeping the rows already shown
+    const appendResults = (movies) => {
+        movies.forEach(result => {
+            const row = document.createElement('tr');
+            row.innerHTML = `
+            <td style="border: 1px solid #ddd; padding: 8px; text-align: center;">${result.year}</td>
+            <td style="border: 1px solid #ddd; padding: 8px;">${result.title}</td>
+            <td style="border: 1px solid #ddd; padding: 8px;">${result.plot}</td>
+            <td style="border: 1px solid #ddd; padding: 8px;">${result.actors}</td>
+            <td style="border: 1px solid #ddd; padding: 8px; text-align: center;">${result.rating}</td>
+        `;
+            resultsTableBody.appendChild(row);
+        });
+
+        // Show the search-results div once there are rows
+        if (resultsTableBody.rows.length > 0) {
+            searchResults.style.display = 'block';
+        }
+    };
+
+    // Function to perform the search, rendering each stage of results as it arrives
+    const performSearch = () => {
         const query = cleanQuery(searchBox.value.trim());
-        const timeTakenDiv = document.getElementById('time-taken');
-
-        if (query.length > 0) {
-            try {
-                // Start timing
-                const startTime = performance.now();
-
-                // Fetch data from the API
-                const response = await fetch(`${searchAPI}?query=${encodeURIComponent(query)}`);
-                if (!response.ok) {
-                    throw new Error('Failed to fetch search results');
-                }
-
-                const data = await response.json();
-                // End timing
-                const endTime = performance.now();
-                const duration = (endTime - startTime).toFixed(2);
-
-                let formattedDuration;
-                if (duration >= 60000) {
-                    formattedDuration = `${(duration / 60000).toFixed(1)} m`;
-                } else if (duration >= 1000) {
-                    formattedDuration = `${(duration / 1000).toFixed(1)} s`;
-                } else {
-                    formattedDuration = `${duration} ms`;
-                }
-
-                // Display the time taken
-                timeTakenDiv.textContent = `${data.resultType} → ${formattedDuration}`;
-
-                // Clear previous results
+
+        if (currentStream) {
+            currentStream.close();
+            currentStream = null;
+        }
+
+        if (query.length === 0) {
+            // Hide the search-results div and clear the time if the query is empty
+            clearResults();
+            return;
+        }
+
+        // Start timing
+        const startTime = performance.now();
+        const stream = new EventSource(`${searchAPI}/stream?query=${encodeURIComponent(query)}`);
+        currentStream = stream;
+        let firstResults = true;
+
+        // FTS hits come first, then the vector hits FTS did not return
+        stream.addEventListener('results', event => {
+            const data = JSON.parse(event.data);
+            if (firstResults) {
+                // Keep the previous results on screen until the new ones arrive
                 resultsTableBody.innerHTML = '';
+                firstResults = false;
+            }
+            appendResults(data.matchedMovies || []);
+            timeTakenDiv.textContent = `${data.resultType} → ${formatDuration(performance.now() - startTime)} …`;
+        });
+
+        stream.addEventListener('complete', event => {
+            const data = JSON.parse(event.data);
+            stream.close();
+            if (currentStream === stream) {
+                currentStream = null;
+            }
+            if (firstResults) {
+                // Nothing matched
+                clearResults();
+                return;
+            }
+            timeTakenDiv.textContent = `${data.resultType} → ${formatDuration(performance.now() - startTime)}`;
+        });
 
-                // Populate the table with new results
-                if (data.matchedMovies && data.matchedMovies.length > 0) {
-                    data.matchedMovies.forEach(result => {
-                        const row = document.createElement('tr');
-                        row.innerHTML = `
-                        <td style="border: 1px solid #ddd; padding: 8px; text-align: center;">${result.year}</td>
-                        <td style="border: 1px solid #ddd; padding: 8px;">${result.title}</td>
-                        <td style="border: 1px solid #ddd; padding: 8px;">${result.plot}</td>
-                        <td style="border: 1px solid #ddd; padding: 8px;">${result.actors}</td>
-                        <td style="border: 1px solid #ddd; padding: 8px; text-align: center;">${result.rating}</td>
-                    `;
-                        resultsTableBody.appendChild(row);
-                    });
-
-                    // Show the search-results div if there are rows
-                    searchResults.style.display = 'block';
-                } else {
-                    // Hide the search-results div if no results
-                    searchResults.style.display = 'none';
-                    timeTakenDiv.textContent = '';
-                }
-            } catch (error) {
-                console.error('Error fetching search results:', error);
-                alert('An error occurred while fetching search results. Please try again.');
-                timeTakenDiv.textContent = '';
+        stream.onerror = error => {
+            // Without this the browser would reconnect and run the search again
+            stream.close();
+            if (currentStream !== stream) {
+                return;
             }
-        } else {
-            // Hide the search-results div if the query is empty
-            searchResults.style.display = 'none';
-            timeTakenDiv.textContent = ''; // Clear time if query is empty
+            currentStream = null;
+            console.error('Error streaming search results:', error);
+            alert('An error occurred while fetching search results. Please try again.');
+            timeTakenDiv.textContent = '';
+        };
+    };
+
+    // Fills the search box's datalist with titles and actors starting with what was typed
+    const suggest = async () => {
+        const prefix = cleanQuery(searchBox.value.trim());
+        if (prefix.length === 0) {
+            suggestionList.innerHTML = '';
+            return;
+        }
+        try {
+            const response = await fetch(`${suggestAPI}?prefix=${encodeURIComponent(prefix)}&limit=5`);
+            if (!response.ok) {
+                return;
+            }
+            const data = await response.json();
+            // A later keystroke may have changed the box while this one was in flight
+            if (cleanQuery(searchBox.value.trim()) !== prefix) {
+                return;
+            }
+            suggestionList.innerHTML = '';
+            [...new Set([...data.titles, ...data.actors])].forEach(text => {
+                const option = document.createElement('option');
+                option.value = text;
+                suggestionList.appendChild(option);
+            });
+        } catch (error) {
+            // Suggestions are a convenience, the search itself still runs
+            console.debug('Error fetching suggestions:', error);
         }
     };
 
@@ -86,8 +138,20 @@ document.addEventListener('DOMContentLoaded', () => {
 
     // Trigger search on input event with debounce
     searchBox.addEventListener('input', debounce(performSearch, 250));
+
+    // Suggestions are cheap, so they follow the keystrokes more closely
+    searchBox.addEventListener('input', debounce(suggest, 50));
 });
 
 function cleanQuery(query) {
     return query.replace(/[^a-zA-Z0-9\s]/g, '').trim();
 }
+
+function formatDuration(duration) {
+    if (duration >= 60000) {
+        return `${(duration / 60000).toFixed(1)} m`;
+    } else if (duration >= 1000) {
+        return `${(duration / 1000).toFixed(1)} s`;
+    }
+    return `${duration.toFixed(2)} ms`;
+}
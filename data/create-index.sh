@@ -1,5 +1,19 @@
 #!/bin/bash
 
+# Vector index algorithm: FLAT (exact) or HNSW (approximate)
+VECTOR_ALGORITHM=${VECTOR_ALGORITHM:-FLAT}
+HNSW_M=${HNSW_M:-16}
+HNSW_EF_CONSTRUCTION=${HNSW_EF_CONSTRUCTION:-200}
+HNSW_EF_RUNTIME=${HNSW_EF_RUNTIME:-10}
+# Vector data type: FLOAT32, FLOAT16, BFLOAT16 or INT8
+VECTOR_TYPE=${VECTOR_TYPE:-FLOAT32}
+
+if [ "$VECTOR_ALGORITHM" = "HNSW" ]; then
+  VECTOR_SPEC="HNSW 12 TYPE $VECTOR_TYPE DIM 384 DISTANCE_METRIC COSINE M $HNSW_M EF_CONSTRUCTION $HNSW_EF_CONSTRUCTION EF_RUNTIME $HNSW_EF_RUNTIME"
+else
+  VECTOR_SPEC="FLAT 6 TYPE $VECTOR_TYPE DIM 384 DISTANCE_METRIC COSINE"
+fi
+
 # Drop existing index if it exists (ignore error if it doesn't exist)
 redis-cli FT.DROPINDEX movie_index 2>/dev/null
 
@@ -11,6 +25,6 @@ redis-cli FT.CREATE movie_index ON HASH PREFIX 1 "movie:" SCHEMA \
   releaseDate TAG SEPARATOR "|" \
   rating NUMERIC SORTABLE \
   actors TAG SEPARATOR "|" \
-  plotEmbedding VECTOR FLAT 6 TYPE FLOAT32 DIM 384 DISTANCE_METRIC COSINE
+  plotEmbedding VECTOR $VECTOR_SPEC
 
-echo "Index 'movie_index' created successfully."
+echo "Index 'movie_index' created successfully with a $VECTOR_ALGORITHM $VECTOR_TYPE vector field."
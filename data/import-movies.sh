@@ -1,10 +1,10 @@
 #!/bin/bash
 
-riot file-import \
-    --var counter="new java.lang.Integer(1)" \
-    --proc id="#counter++" \
-    --proc plot="info.plot" \
-    --proc releaseDate="info.release_date" \
-    --proc rating="info.rating" \
-    --proc actors="info.actors != null ? remove('info').actors.stream().collect(T(java.util.stream.Collectors).joining('|')) : ''" \
-    movies.json hset --keyspace movie --key id
+# Streams movies.json into Redis in a single pass: movies without a plot and
+# duplicate titles are dropped, and plots are embedded before the hashes are written.
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+
+cd "$SCRIPT_DIR/.." && ./mvnw -q spring-boot:run -Dspring-boot.run.arguments="\
+--searcher.importer.file=$SCRIPT_DIR/movies.json \
+--searcher.backfill.enabled=false \
+--spring.main.web-application-type=none"
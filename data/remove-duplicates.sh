@@ -1,3 +0,0 @@
-#!/bin/bash
-
-redis-cli --eval remove-duplicates.lua 0
@@ -0,0 +1,144 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.core.domain.Movie;
+import io.redis.movies.searcher.core.domain.VectorDataType;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Inputs shared by the benchmarks.
+ *
+ * Movies come from {@code movies-sample.json}, the first hundred movies with a plot
+ * and a cast in {@code data/movies.json}. FT.HYBRID and HMGET replies are rebuilt
+ * from them in the shape Jedis hands back over RESP2: nested lists of byte arrays.
+ *
+ * Vectors default to seeded, normalized 384-dimension Gaussian vectors. To run on
+ * real embeddings, dump the FLOAT32 {@code plotEmbedding} of some movies back to back
+ * into one file and hand its path to the benchmark JVMs through {@code jmh.jvm.args}:
+ * <pre>
+ * redis-cli --scan --pattern 'movie:*' | head -n 500 | while read key; do
+ *   redis-cli --raw HGET "$key" plotEmbedding | head -c 1536
+ * done &gt; plots.bin
+ * mvn -Pjmh verify -DskipTests -Djmh.jvm.args=-Djmh.vectors=$PWD/plots.bin
+ * </pre>
+ * Each seed then picks its own vector from the file, wrapping around past the end.
+ */
+final class BenchmarkFixtures {
+
+    record SampleMovie(int id, String title, int year, String plot, double rating, List<String> actors) {}
+
+    static final List<String> QUERIES = List.of(
+            "Apes",
+            "Tom Hanks",
+            "Dude who teaches rock",
+            "Mission: Impossible - Ghost Protocol",
+            "a movie about a robot (who) cleans up earth & falls in love!");
+
+    private static final List<SampleMovie> SAMPLE = load();
+    private static final List<float[]> DUMPED = loadVectors(System.getProperty("jmh.vectors"));
+
+    private BenchmarkFixtures() {}
+
+    static List<Movie> movies(int count) {
+        List<Movie> movies = new ArrayList<>(count);
+        for (SampleMovie sample : SAMPLE.subList(0, count)) {
+            movies.add(new Movie(sample.id(), sample.title(), sample.year(), sample.plot(),
+                    null, sample.rating(), sample.actors()));
+        }
+        return movies;
+    }
+
+    static List<String> keys(int count) {
+        return SAMPLE.subList(0, count).stream().map(sample -> "movie:" + sample.id()).toList();
+    }
+
+    /**
+     * HMGET values for the first {@code count} movies, in {@link MovieHydrator} field order.
+     */
+    static List<List<String>> hashValues(int count) {
+        List<List<String>> values = new ArrayList<>(count);
+        for (SampleMovie sample : SAMPLE.subList(0, count)) {
+            values.add(Arrays.asList(sample.title(), Integer.toString(sample.year()), sample.plot(),
+                    Double.toString(sample.rating()), String.join("|", sample.actors())));
+        }
+        return values;
+    }
+
+    /**
+     * An FT.HYBRID reply ranking the first {@code count} movies.
+     */
+    static Object hybridReply(int count) {
+        List<Object> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(List.of(bytes("__key"), bytes("movie:" + SAMPLE.get(i).id()),
+                    bytes("__score"), bytes(Double.toString(0.032 - i * 0.0004))));
+        }
+        return List.of(
+                bytes("total_results"), (long) SAMPLE.size(),
+                bytes("results"), results,
+                bytes("warnings"), List.of(),
+                bytes("execution_time"), bytes("1.734"));
+    }
+
+    static float[] vector(long seed) {
+        if (DUMPED != null) {
+            return DUMPED.get((int) Math.floorMod(seed, (long) DUMPED.size())).clone();
+        }
+        Random random = new Random(seed);
+        float[] vector = new float[VectorCodec.DIMENSION];
+        double norm = 0;
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) random.nextGaussian();
+            norm += vector[i] * vector[i];
+        }
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] /= (float) Math.sqrt(norm);
+        }
+        return vector;
+    }
+
+    private static List<SampleMovie> load() {
+        try (InputStream in = BenchmarkFixtures.class.getResourceAsStream("/movies-sample.json")) {
+            return List.of(JsonMapper.builder().build().readValue(in, SampleMovie[].class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Splits a file of back-to-back FLOAT32 vectors, or returns null when there is none.
+     */
+    private static List<float[]> loadVectors(String file) {
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        try {
+            byte[] dump = Files.readAllBytes(Path.of(file));
+            int blobSize = VectorCodec.blobSize(VectorDataType.FLOAT32);
+            if (dump.length == 0 || dump.length % blobSize != 0) {
+                throw new IllegalArgumentException(file + " is not a sequence of " + blobSize + "-byte FLOAT32 vectors");
+            }
+            List<float[]> vectors = new ArrayList<>(dump.length / blobSize);
+            for (int offset = 0; offset < dump.length; offset += blobSize) {
+                vectors.add(VectorCodec.decode(Arrays.copyOfRange(dump, offset, offset + blobSize), VectorDataType.FLOAT32));
+            }
+            return vectors;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,41 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.core.domain.Movie;
+import io.redis.movies.searcher.core.dto.MovieDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting the entities returned by Redis OM into DTOs, as the MANUAL,
+ * SPECULATIVE and NATIVE modes do for every response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvertToDtoBenchmark {
+
+    @Param({"10", "50"})
+    public int results;
+
+    private List<Movie> movies;
+
+    @Setup
+    public void setUp() {
+        movies = BenchmarkFixtures.movies(results);
+    }
+
+    @Benchmark
+    public MovieDTO convertToDTO() {
+        return SearchService.convertToDTO(movies.get(0));
+    }
+
+    @Benchmark
+    public List<MovieDTO> convertToDTOs() {
+        return SearchService.convertToDTOs(movies);
+    }
+}
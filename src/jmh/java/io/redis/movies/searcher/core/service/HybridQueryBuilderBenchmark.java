@@ -0,0 +1,54 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.core.domain.FusionStrategy;
+import io.redis.movies.searcher.core.domain.VectorDataType;
+import io.redis.movies.searcher.core.dto.HybridSearchOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building FT.HYBRID arguments. {@code escapeQueryRegex} is the two
+ * {@code replaceAll} calls the query used to go through, kept as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HybridQueryBuilderBenchmark {
+
+    @Param({"0", "2", "4"})
+    public int queryIndex;
+
+    @Param({"LINEAR", "RRF"})
+    public FusionStrategy fusion;
+
+    private String query;
+    private byte[] vector;
+    private HybridSearchOptions options;
+
+    @Setup
+    public void setUp() {
+        query = BenchmarkFixtures.QUERIES.get(queryIndex);
+        vector = VectorCodec.encode(BenchmarkFixtures.vector(7), VectorDataType.FLOAT32);
+        options = new HybridSearchOptions(fusion, 0.3, 0.7, 60, 0, 0);
+    }
+
+    @Benchmark
+    public String escapeQueryRegex() {
+        return query.replaceAll("([,.<>{}\\[\\]\"':;!@#$%^&*()\\-+=~\\\\])", "\\\\$1")
+                .replaceAll("\\s+", "\\ ");
+    }
+
+    @Benchmark
+    public String escapeQuery() {
+        return HybridQueryBuilder.escapeQuery(query);
+    }
+
+    @Benchmark
+    public byte[][] build() {
+        return HybridQueryBuilder.build(query, vector, options, 10);
+    }
+}
@@ -0,0 +1,131 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.core.dto.MovieDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning an FT.HYBRID reply into DTOs: decoding the reply, then building each
+ * DTO from the HMGET values the hydrator fetches for it. {@code legacyParse} is the
+ * walk {@code parseRawHybridResults} did before {@link HybridReplyDecoder}: every
+ * element turned into a String, {@code __key} found by string comparison. Its log
+ * calls are left out, but the Strings built for their arguments are kept.
+ * {@code legacyParseAndConvert} pairs that walk with the same hydration, so it
+ * compares against {@code decodeAndConvert} without the per-movie reads the old
+ * path also made.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HybridReplyBenchmark {
+
+    @Param({"10", "50"})
+    public int results;
+
+    private Object reply;
+    private List<String> keys;
+    private List<List<String>> hashValues;
+
+    @Setup
+    public void setUp() {
+        reply = BenchmarkFixtures.hybridReply(results);
+        keys = BenchmarkFixtures.keys(results);
+        hashValues = BenchmarkFixtures.hashValues(results);
+    }
+
+    @Benchmark
+    public List<String> decode() {
+        return HybridReplyDecoder.decode(reply).keys();
+    }
+
+    @Benchmark
+    public List<String> legacyParse(Blackhole blackhole) {
+        return legacyKeys((List<?>) reply, blackhole);
+    }
+
+    @Benchmark
+    public void toDTOs(Blackhole blackhole) {
+        for (int i = 0; i < keys.size(); i++) {
+            blackhole.consume(MovieHydrator.toDTO(keys.get(i), hashValues.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void decodeAndConvert(Blackhole blackhole) {
+        List<String> decoded = HybridReplyDecoder.decode(reply).keys();
+        for (int i = 0; i < decoded.size(); i++) {
+            MovieDTO movie = MovieHydrator.toDTO(decoded.get(i), hashValues.get(i));
+            blackhole.consume(movie);
+        }
+    }
+
+    @Benchmark
+    public void legacyParseAndConvert(Blackhole blackhole) {
+        List<String> parsed = legacyKeys((List<?>) reply, blackhole);
+        for (int i = 0; i < parsed.size(); i++) {
+            MovieDTO movie = MovieHydrator.toDTO(parsed.get(i), hashValues.get(i));
+            blackhole.consume(movie);
+        }
+    }
+
+    private static List<String> legacyKeys(List<?> results, Blackhole blackhole) {
+        List<String> movieKeys = new ArrayList<>();
+        for (int i = 0; i + 1 < results.size(); i += 2) {
+            String key = extractString(results.get(i));
+            Object value = results.get(i + 1);
+            if ("total_results".equals(key)) {
+                blackhole.consume(extractLong(value));
+            } else if ("results".equals(key) && value instanceof List<?> resultsList) {
+                for (Object resultObj : resultsList) {
+                    if (resultObj instanceof List<?> resultMap) {
+                        // The old code logged every element of every result
+                        for (Object elem : resultMap) {
+                            blackhole.consume(extractString(elem));
+                        }
+                        String docId = extractDocumentId(resultMap);
+                        if (docId != null) {
+                            movieKeys.add(docId);
+                        }
+                    }
+                }
+            }
+        }
+        return movieKeys;
+    }
+
+    private static String extractDocumentId(List<?> resultMap) {
+        for (int i = 0; i + 1 < resultMap.size(); i += 2) {
+            String key = extractString(resultMap.get(i));
+            if ("id".equals(key) || "__key".equals(key)) {
+                return extractString(resultMap.get(i + 1));
+            }
+        }
+        return null;
+    }
+
+    private static String extractString(Object obj) {
+        if (obj instanceof byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        } else if (obj instanceof String string) {
+            return string;
+        }
+        return obj != null ? obj.toString() : null;
+    }
+
+    private static long extractLong(Object obj) {
+        if (obj instanceof Long value) {
+            return value;
+        } else if (obj instanceof byte[] bytes) {
+            return Long.parseLong(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return 0;
+    }
+}
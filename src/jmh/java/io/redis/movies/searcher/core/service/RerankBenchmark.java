@@ -0,0 +1,65 @@
+package io.redis.movies.searcher.core.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring re-rank candidates against a query vector. {@code scalar} and {@code simd}
+ * work on vectors already on the heap; {@code mapped} is what a search does, reading
+ * each candidate out of {@link MappedVectors}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RerankBenchmark {
+
+    @Param({"20", "100"})
+    public int candidates;
+
+    private float[] query;
+    private float[][] plots;
+    private int[] ids;
+    private MappedVectors mapped;
+
+    @Setup
+    public void setUp() throws IOException {
+        query = BenchmarkFixtures.vector(0);
+        plots = new float[candidates][];
+        ids = new int[candidates];
+        mapped = new MappedVectors(candidates * 10, VectorCodec.DIMENSION);
+        for (int i = 0; i < candidates; i++) {
+            plots[i] = BenchmarkFixtures.vector(i + 1);
+            // Spread the candidates over the mapping like movie ids would be
+            ids[i] = i * 10;
+            mapped.put(ids[i], plots[i]);
+        }
+    }
+
+    @Benchmark
+    public float[] scalar() {
+        float[] scores = new float[candidates];
+        for (int i = 0; i < candidates; i++) {
+            scores[i] = DotProduct.scalar(query, plots[i]);
+        }
+        return scores;
+    }
+
+    @Benchmark
+    public float[] simd() {
+        float[] scores = new float[candidates];
+        for (int i = 0; i < candidates; i++) {
+            scores[i] = DotProduct.Simd.dot(query, plots[i]);
+        }
+        return scores;
+    }
+
+    @Benchmark
+    public float[] mapped() {
+        return mapped.cosine(query, ids);
+    }
+}
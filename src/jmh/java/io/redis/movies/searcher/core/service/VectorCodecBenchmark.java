@@ -0,0 +1,55 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.core.domain.VectorDataType;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converting query vectors between blobs and floats. {@code byteBuffer} is the
+ * {@code bytesToFloats} implementation SearchService used before {@link VectorCodec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorCodecBenchmark {
+
+    @Param({"FLOAT32", "FLOAT16", "BFLOAT16", "INT8"})
+    public VectorDataType type;
+
+    private float[] vector;
+    private byte[] float32Blob;
+    private byte[] blob;
+
+    @Setup
+    public void setUp() {
+        vector = BenchmarkFixtures.vector(42);
+        float32Blob = VectorCodec.encode(vector, VectorDataType.FLOAT32);
+        blob = VectorCodec.encode(vector, type);
+    }
+
+    @Benchmark
+    public float[] byteBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap(float32Blob).order(ByteOrder.LITTLE_ENDIAN);
+        float[] floats = new float[float32Blob.length / 4];
+        for (int i = 0; i < floats.length; i++) {
+            floats[i] = buffer.getFloat();
+        }
+        return floats;
+    }
+
+    @Benchmark
+    public float[] decode() {
+        return VectorCodec.decode(blob, type);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return VectorCodec.encode(vector, type);
+    }
+}
@@ -0,0 +1,50 @@
+package io.redis.movies.searcher;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Standalone RESP3 Lettuce client, used for push messages such as client-side
+ * caching invalidations, which the Spring Data connection factory does not expose,
+ * and for the async commands of the non-blocking search path.
+ */
+@Configuration
+public class RedisClientConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    RedisClient resp3RedisClient(
+            @Value("${spring.data.redis.host:localhost}") String host,
+            @Value("${spring.data.redis.port:6379}") int port,
+            @Value("${spring.data.redis.username:}") String username,
+            @Value("${spring.data.redis.password:}") String password
+    ) {
+        RedisURI.Builder uri = RedisURI.builder().withHost(host).withPort(port);
+        if (!password.isEmpty()) {
+            uri = username.isEmpty()
+                    ? uri.withPassword(password.toCharArray())
+                    : uri.withAuthentication(username, password.toCharArray());
+        }
+        RedisClient client = RedisClient.create(uri.build());
+        client.setOptions(ClientOptions.builder()
+                .protocolVersion(ProtocolVersion.RESP3)
+                .build());
+        return client;
+    }
+
+    /**
+     * Connection shared by every non-blocking search. Lettuce multiplexes the commands
+     * of all callers over it and completes their futures as the replies come back.
+     */
+    @Bean(destroyMethod = "close")
+    StatefulRedisConnection<byte[], byte[]> asyncRedisConnection(RedisClient resp3RedisClient) {
+        return resp3RedisClient.connect(ByteArrayCodec.INSTANCE);
+    }
+
+}
@@ -1,28 +1,30 @@
 package io.redis.movies.searcher;
 
 import com.redis.om.spring.annotations.EnableRedisEnhancedRepositories;
-import io.redis.movies.searcher.core.service.MovieService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.boot.CommandLineRunner;
+import io.redis.movies.searcher.core.service.MovieImporter;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Bean;
 
+import java.nio.file.Path;
+
 @SpringBootApplication
 @EnableRedisEnhancedRepositories
+@ConfigurationPropertiesScan
 public class RedisMoviesSearcher {
 
-    private static final Logger log = LoggerFactory.getLogger(RedisMoviesSearcher.class);
-
     public static void main(String[] args) {
         SpringApplication.run(RedisMoviesSearcher.class, args);
     }
 
     @Bean
-    CommandLineRunner loadData(MovieService movieService) {
+    @ConditionalOnProperty(prefix = "searcher.importer", name = "file")
+    ApplicationRunner importMovies(MovieImporter movieImporter, SearcherProperties properties) {
         return args -> {
-            movieService.regenerateMissingEmbeddings();
+            movieImporter.importMovies(Path.of(properties.importer().file()));
         };
     }
 
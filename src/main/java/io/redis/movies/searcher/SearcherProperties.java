@@ -0,0 +1,198 @@
+package io.redis.movies.searcher;
+
+import io.redis.movies.searcher.core.domain.FusionStrategy;
+import io.redis.movies.searcher.core.domain.SearchMode;
+import io.redis.movies.searcher.core.domain.VectorDataType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+import redis.clients.jedis.search.schemafields.VectorField;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs for the searcher, bound from the {@code searcher.*} properties.
+ */
+@ConfigurationProperties(prefix = "searcher")
+public record SearcherProperties(
+        @DefaultValue EmbeddingCache embeddingCache,
+        @DefaultValue Keywords keywords,
+        @DefaultValue Search search,
+        @DefaultValue ResponseCache responseCache,
+        @DefaultValue NearCache nearCache,
+        @DefaultValue VectorIndex vectorIndex,
+        @DefaultValue Backfill backfill,
+        @DefaultValue Importer importer,
+        @DefaultValue Maintenance maintenance,
+        @DefaultValue Inference inference,
+        @DefaultValue BatchSearch batchSearch,
+        @DefaultValue Rerank rerank
+) {
+
+    /**
+     * In-process cache of query embeddings, keyed on the normalized query.
+     */
+    public record EmbeddingCache(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("16MB") DataSize maxSize
+    ) {}
+
+    /**
+     * Stored {@code keyword:*} hashes, one per distinct normalized query.
+     */
+    public record Keywords(
+            @DefaultValue("100000") int maxEntries,
+            @DefaultValue("7d") Duration ttl,
+            @DefaultValue WriteBehind writeBehind
+    ) {
+
+        /**
+         * Batches newly computed keywords into pipelined writes off the request path.
+         */
+        public record WriteBehind(
+                @DefaultValue("true") boolean enabled,
+                @DefaultValue("10000") int queueCapacity,
+                @DefaultValue("256") int batchSize,
+                @DefaultValue("200ms") Duration flushInterval
+        ) {}
+    }
+
+    /**
+     * Search strategies. {@code logStages} writes one INFO line per search stage.
+     */
+    public record Search(
+            @DefaultValue("NATIVE") SearchMode defaultMode,
+            @DefaultValue("true") boolean speculativeVss,
+            @DefaultValue("false") boolean logStages,
+            @DefaultValue Hybrid hybrid
+    ) {
+
+        /**
+         * Defaults for FT.HYBRID queries, each overridable per request.
+         * A vector K or EF_RUNTIME of 0 means the result limit and the index default.
+         */
+        public record Hybrid(
+                @DefaultValue("LINEAR") FusionStrategy fusion,
+                @DefaultValue("0.0") double alpha,
+                @DefaultValue("1.0") double beta,
+                @DefaultValue("60") int rrfConstant,
+                @DefaultValue("0") int vectorK,
+                @DefaultValue("0") int efRuntime
+        ) {}
+    }
+
+    /**
+     * Serialized search responses, invalidated when a movie they contain changes.
+     */
+    public record ResponseCache(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("32MB") DataSize maxSize,
+            @DefaultValue("10m") Duration ttl
+    ) {}
+
+    /**
+     * Opt-in local copies of hydrated movies, invalidated through client-side tracking.
+     */
+    public record NearCache(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("10000") int maxEntries
+    ) {}
+
+    /**
+     * Vector field settings applied to both {@code movie_index} and {@code keyword_index}.
+     * HNSW parameters are ignored for FLAT.
+     */
+    public record VectorIndex(
+            @DefaultValue("FLAT") VectorField.VectorAlgorithm algorithm,
+            @DefaultValue("16") int m,
+            @DefaultValue("200") int efConstruction,
+            @DefaultValue("10") int efRuntime,
+            @DefaultValue("FLOAT32") VectorDataType dataType,
+            @DefaultValue Migration migration
+    ) {
+
+        /**
+         * Re-encoding of stored vectors when the data type changes, and the recall check around it.
+         */
+        public record Migration(
+                @DefaultValue("500") int batchSize,
+                @DefaultValue("50") int recallSamples,
+                @DefaultValue("10") int recallK,
+                @DefaultValue("5m") Duration indexingTimeout
+        ) {}
+    }
+
+    /**
+     * Bulk embedding of movies that have a plot but no embedding, run in the background
+     * once the application is ready. An inference thread count of 0 means one per
+     * available core. Up to {@code (2 * queueBatches + inferenceThreads + 1)} model
+     * batches of plots are held in memory at once. On shutdown the job stops scanning
+     * and waits up to {@code shutdownTimeout} for the batches in flight, so its
+     * checkpoint is current.
+     */
+    public record Backfill(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("1000") int scanPageSize,
+            @DefaultValue("0") int inferenceThreads,
+            @DefaultValue("2") int queueBatches,
+            @DefaultValue("30s") Duration shutdownTimeout
+    ) {}
+
+    /**
+     * One-pass import of a movies JSON catalog, run at startup when {@code file} is set.
+     * Movies are parsed, filtered, deduplicated and queued for embedding
+     * {@code pageSize} at a time.
+     */
+    public record Importer(
+            String file,
+            @DefaultValue("1000") int pageSize
+    ) {}
+
+    /**
+     * Pace of the cleanup jobs run against a live instance: each SCAN slice covers
+     * up to {@code sliceSize} movie keys, and slices are spaced so the jobs never go
+     * through more than {@code keysPerSecond} keys per second (0 means unpaced).
+     */
+    public record Maintenance(
+            @DefaultValue("200") int sliceSize,
+            @DefaultValue("2000") int keysPerSecond
+    ) {}
+
+    /**
+     * Query embedding model. Searches run it on {@code threads} threads (0 means one
+     * per core), with room for {@code queueSize} more calls waiting; beyond that
+     * searches are rejected. With {@code warmUp} on, the model and both indexes are
+     * exercised {@code warmUpRounds} times per thread before the application reports
+     * itself ready.
+     */
+    public record Inference(
+            @DefaultValue("0") int threads,
+            @DefaultValue("256") int queueSize,
+            @DefaultValue("true") boolean warmUp,
+            @DefaultValue("3") int warmUpRounds
+    ) {}
+
+    /**
+     * Batch search endpoint. Requests with more than {@code maxQueries} queries are rejected.
+     */
+    public record BatchSearch(
+            @DefaultValue("100") int maxQueries
+    ) {}
+
+    /**
+     * Re-ranking of hybrid candidates in the JVM. FTS and VSS each fetch
+     * {@code overFetch} times the limit, every candidate is scored by the cosine
+     * similarity of its plot to the query, plus {@code ftsBoost} when its title
+     * matched, and the best ones are kept. With {@code enabled} on, the first such
+     * search maps room for the plot embeddings of {@code capacity} movie ids off-heap,
+     * 1.5 KB each, and loads them in the background; otherwise each search reads those
+     * of its candidates from Redis. Nothing is mapped or loaded until then.
+     */
+    public record Rerank(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("5") int overFetch,
+            @DefaultValue("0.2") float ftsBoost,
+            @DefaultValue("100000") int capacity
+    ) {}
+
+}
@@ -0,0 +1,22 @@
+package io.redis.movies.searcher.core.controller;
+
+import io.redis.movies.searcher.core.dto.BackfillStatus;
+import io.redis.movies.searcher.core.service.EmbeddingBackfill;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class BackfillController {
+
+    private final EmbeddingBackfill embeddingBackfill;
+
+    public BackfillController(EmbeddingBackfill embeddingBackfill) {
+        this.embeddingBackfill = embeddingBackfill;
+    }
+
+    @GetMapping(value = "/backfill/status", produces = MediaType.APPLICATION_JSON_VALUE)
+    public BackfillStatus status() {
+        return embeddingBackfill.status();
+    }
+}
@@ -0,0 +1,60 @@
+package io.redis.movies.searcher.core.controller;
+
+import io.redis.movies.searcher.core.dto.MaintenanceStatus;
+import io.redis.movies.searcher.core.service.MaintenanceJob;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RestController
+public class MaintenanceController {
+
+    private final Map<String, MaintenanceJob> jobs;
+
+    public MaintenanceController(List<MaintenanceJob> jobs) {
+        this.jobs = jobs.stream().collect(Collectors.toMap(MaintenanceJob::name, Function.identity()));
+    }
+
+    /**
+     * Starts a cleanup job; runs are dry unless {@code dryRun=false} is passed.
+     */
+    @PostMapping(value = "/maintenance/{job}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MaintenanceStatus> start(
+            @PathVariable String job,
+            @RequestParam(defaultValue = "true") boolean dryRun
+    ) {
+        MaintenanceJob maintenanceJob = jobs.get(job);
+        if (maintenanceJob == null) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean started = maintenanceJob.start(dryRun);
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(maintenanceJob.status());
+    }
+
+    @PostMapping(value = "/maintenance/{job}/stop", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MaintenanceStatus> stop(@PathVariable String job) {
+        MaintenanceJob maintenanceJob = jobs.get(job);
+        if (maintenanceJob == null) {
+            return ResponseEntity.notFound().build();
+        }
+        maintenanceJob.stop();
+        return ResponseEntity.ok(maintenanceJob.status());
+    }
+
+    @GetMapping(value = "/maintenance/{job}/status", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MaintenanceStatus> status(@PathVariable String job) {
+        MaintenanceJob maintenanceJob = jobs.get(job);
+        return maintenanceJob == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(maintenanceJob.status());
+    }
+}
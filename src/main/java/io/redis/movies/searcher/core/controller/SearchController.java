@@ -1,30 +1,172 @@
 package io.redis.movies.searcher.core.controller;
 
+import io.redis.movies.searcher.SearcherProperties;
+import io.redis.movies.searcher.core.domain.FusionStrategy;
+import io.redis.movies.searcher.core.domain.ResultType;
+import io.redis.movies.searcher.core.domain.SearchMode;
+import io.redis.movies.searcher.core.dto.BatchSearchRequest;
+import io.redis.movies.searcher.core.dto.BatchSearchResult;
+import io.redis.movies.searcher.core.dto.HybridSearchOptions;
+import io.redis.movies.searcher.core.dto.MovieDTO;
+import io.redis.movies.searcher.core.dto.SearchResponse;
+import io.redis.movies.searcher.core.service.AsyncSearchService;
+import io.redis.movies.searcher.core.service.SearchResponseCache;
 import io.redis.movies.searcher.core.service.SearchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.data.util.Pair;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 public class SearchController {
 
+    private static final long STREAM_TIMEOUT_MILLIS = 30_000;
+
     private final SearchService searchService;
+    private final AsyncSearchService asyncSearchService;
+    private final SearchResponseCache searchResponseCache;
+    private final SearchMode defaultMode;
+    private final int maxBatchQueries;
 
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService, AsyncSearchService asyncSearchService,
+                            SearchResponseCache searchResponseCache, SearcherProperties properties) {
         this.searchService = searchService;
+        this.asyncSearchService = asyncSearchService;
+        this.searchResponseCache = searchResponseCache;
+        this.defaultMode = properties.search().defaultMode();
+        this.maxBatchQueries = properties.batchSearch().maxQueries();
     }
 
-    @GetMapping("/search")
-    public Map<String, Object> search(
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public byte[] search(
+            @RequestParam(required = true) String query,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) SearchMode mode,
+            @RequestParam(required = false) FusionStrategy fusion,
+            @RequestParam(required = false) Double alpha,
+            @RequestParam(required = false) Double beta,
+            @RequestParam(required = false) Integer rrfConstant,
+            @RequestParam(required = false) Integer k,
+            @RequestParam(required = false) Integer efRuntime
+    ) {
+        var options = new HybridSearchOptions(fusion, alpha, beta, rrfConstant, k, efRuntime);
+        // Fusion parameters only mean something to FT.HYBRID, so asking for them implies the raw mode
+        var searchMode = (mode != null) ? mode : (options.isDefault() ? defaultMode : SearchMode.RAW);
+
+        return searchResponseCache.get(searchMode, query, limit, options,
+                () -> searchService.search(searchMode, query, limit, options));
+    }
+
+    /**
+     * Server-Sent Events variant of the FTS-then-VSS search. Each {@code results} event holds the
+     * hits of one stage, FTS first and then vector hits not already sent, with {@code resultType}
+     * naming the stage. A final {@code complete} event carries the result type of the whole
+     * search, the one {@code /search} would report. Streams bypass the response cache.
+     */
+    @GetMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter searchStream(
             @RequestParam(required = true) String query,
             @RequestParam(required = false) Integer limit
     ) {
-        var matchedMovies = searchService.nativeHybridSearch(query, limit);
-        return Map.of(
-                "resultType", matchedMovies.getSecond().name(),
-                "matchedMovies", matchedMovies.getFirst()
-        );
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        searchService.streamingSearch(query, limit,
+                (stage, movies) -> send(emitter, "results", new SearchResponse(stage.name(), movies)),
+                resultType -> {
+                    send(emitter, "complete", Map.of("resultType", resultType.name()));
+                    emitter.complete();
+                },
+                emitter::completeWithError);
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException ex) {
+            // The client went away; failing the search stops it before its next stage
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * FT.HYBRID search that releases the request thread while it waits on the model and
+     * on Redis. Answers 503 when the inference pool cannot take another query.
+     */
+    @GetMapping(value = "/search/async", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<byte[]>> searchAsync(
+            @RequestParam(required = true) String query,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) FusionStrategy fusion,
+            @RequestParam(required = false) Double alpha,
+            @RequestParam(required = false) Double beta,
+            @RequestParam(required = false) Integer rrfConstant,
+            @RequestParam(required = false) Integer k,
+            @RequestParam(required = false) Integer efRuntime
+    ) {
+        var options = new HybridSearchOptions(fusion, alpha, beta, rrfConstant, k, efRuntime);
+        CompletableFuture<byte[]> response;
+        try {
+            response = searchResponseCache.getAsync(SearchMode.ASYNC, query, limit, options,
+                    () -> asyncSearchService.search(query, limit, options));
+        } catch (RejectedExecutionException ex) {
+            response = CompletableFuture.failedFuture(ex);
+        }
+        return response
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(ex -> {
+                    Throwable cause = (ex instanceof CompletionException) ? ex.getCause() : ex;
+                    if (cause instanceof RejectedExecutionException) {
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+                    }
+                    throw (ex instanceof CompletionException completion) ? completion : new CompletionException(ex);
+                });
+    }
+
+    /**
+     * Runs many FT.HYBRID searches in one go and returns their results in the order of
+     * the queries. Answers 400 when there are no queries or more than
+     * {@code searcher.batch-search.max-queries}. Batches bypass the response cache.
+     */
+    @PostMapping(value = "/search/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchSearchResult>> searchBatch(@RequestBody BatchSearchRequest request) {
+        List<String> queries = request.queries();
+        if (queries == null || queries.isEmpty() || queries.size() > maxBatchQueries
+                || queries.stream().anyMatch(query -> query == null || query.isBlank())) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<Pair<List<MovieDTO>, ResultType>> results =
+                searchService.batchSearch(queries, request.limit(), request.options());
+        List<BatchSearchResult> body = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Pair<List<MovieDTO>, ResultType> result = results.get(i);
+            body.add(new BatchSearchResult(queries.get(i), result.getSecond().name(), result.getFirst()));
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * A blocking search whose query embedding did not fit in the inference queue.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> inferenceSaturated() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
     }
 }
@@ -0,0 +1,32 @@
+package io.redis.movies.searcher.core.controller;
+
+import io.redis.movies.searcher.core.dto.Suggestions;
+import io.redis.movies.searcher.core.service.MovieSuggestions;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class SuggestionController {
+
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private final MovieSuggestions movieSuggestions;
+
+    public SuggestionController(MovieSuggestions movieSuggestions) {
+        this.movieSuggestions = movieSuggestions;
+    }
+
+    /**
+     * Titles and actors starting with the prefix, for type-ahead while the user types.
+     */
+    @GetMapping(value = "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Suggestions suggest(
+            @RequestParam(required = true) String prefix,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(defaultValue = "false") boolean fuzzy
+    ) {
+        return movieSuggestions.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS), fuzzy);
+    }
+}
@@ -0,0 +1,16 @@
+package io.redis.movies.searcher.core.domain;
+
+public enum FusionStrategy {
+    LINEAR("Weighted sum of text and vector scores"),
+    RRF("Reciprocal Rank Fusion");
+
+    private final String description;
+
+    FusionStrategy(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
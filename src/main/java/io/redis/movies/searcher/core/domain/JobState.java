@@ -0,0 +1,19 @@
+package io.redis.movies.searcher.core.domain;
+
+public enum JobState {
+    IDLE("Not started yet"),
+    RUNNING("Working through the keyspace"),
+    COMPLETED("Reached the end of the keyspace"),
+    STOPPED("Stopped before the end, on request or at shutdown"),
+    FAILED("Stopped before the end because of an error");
+
+    private final String description;
+
+    JobState(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -37,6 +37,11 @@ public class Keyword {
         this.value = value;
     }
 
+    public Keyword(String id, String value) {
+        this.id = id;
+        this.value = value;
+    }
+
     public String getId() {
         return id;
     }
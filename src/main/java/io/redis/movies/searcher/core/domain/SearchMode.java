@@ -0,0 +1,22 @@
+package io.redis.movies.searcher.core.domain;
+
+public enum SearchMode {
+    MANUAL("FTS first, complemented with VSS"),
+    SPECULATIVE("FTS and VSS started in parallel"),
+    NATIVE("Redis OM hybrid search"),
+    RAW("FT.HYBRID sent directly to Redis"),
+    ASYNC("FT.HYBRID over async Redis commands"),
+    BATCH("FT.HYBRID for many queries in one pipeline"),
+    STREAMING("FTS hits first, vector hits as they arrive"),
+    RERANK("FTS and VSS over-fetched, re-ranked in the JVM");
+
+    private final String description;
+
+    SearchMode(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,24 @@
+package io.redis.movies.searcher.core.domain;
+
+public enum VectorDataType {
+    FLOAT32(4, "32-bit IEEE 754 floats"),
+    FLOAT16(2, "16-bit IEEE 754 half-precision floats"),
+    BFLOAT16(2, "16-bit brain floats, float32 with a truncated mantissa"),
+    INT8(1, "Signed 8-bit integers, scaled per vector");
+
+    private final int bytesPerDimension;
+    private final String description;
+
+    VectorDataType(int bytesPerDimension, String description) {
+        this.bytesPerDimension = bytesPerDimension;
+        this.description = description;
+    }
+
+    public int getBytesPerDimension() {
+        return bytesPerDimension;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,18 @@
+package io.redis.movies.searcher.core.dto;
+
+import java.time.Instant;
+
+public record BackfillStatus(
+        String state,
+        Instant startedAt,
+        Instant finishedAt,
+        String resumedFromCursor,
+        String checkpointCursor,
+        long scanned,
+        long read,
+        long embedded,
+        long written,
+        long failed,
+        double writtenPerSecond,
+        String error
+) {}
@@ -0,0 +1,24 @@
+package io.redis.movies.searcher.core.dto;
+
+import io.redis.movies.searcher.core.domain.FusionStrategy;
+
+import java.util.List;
+
+/**
+ * Body of a batch search. The limit and the hybrid options apply to every query.
+ */
+public record BatchSearchRequest(
+        List<String> queries,
+        Integer limit,
+        FusionStrategy fusion,
+        Double alpha,
+        Double beta,
+        Integer rrfConstant,
+        Integer k,
+        Integer efRuntime
+) {
+
+    public HybridSearchOptions options() {
+        return new HybridSearchOptions(fusion, alpha, beta, rrfConstant, k, efRuntime);
+    }
+}
@@ -0,0 +1,9 @@
+package io.redis.movies.searcher.core.dto;
+
+import java.util.List;
+
+public record BatchSearchResult(
+        String query,
+        String resultType,
+        List<MovieDTO> matchedMovies
+) {}
@@ -0,0 +1,33 @@
+package io.redis.movies.searcher.core.dto;
+
+import io.redis.movies.searcher.core.domain.FusionStrategy;
+
+/**
+ * Per-request FT.HYBRID tuning. Any null component falls back to the configured default.
+ */
+public record HybridSearchOptions(
+        FusionStrategy fusion,
+        Double alpha,
+        Double beta,
+        Integer rrfConstant,
+        Integer vectorK,
+        Integer efRuntime
+) {
+
+    public static final HybridSearchOptions DEFAULTS = new HybridSearchOptions(null, null, null, null, null, null);
+
+    public boolean isDefault() {
+        return this.equals(DEFAULTS);
+    }
+
+    public HybridSearchOptions orDefaults(HybridSearchOptions defaults) {
+        return new HybridSearchOptions(
+                fusion != null ? fusion : defaults.fusion(),
+                alpha != null ? alpha : defaults.alpha(),
+                beta != null ? beta : defaults.beta(),
+                rrfConstant != null ? rrfConstant : defaults.rrfConstant(),
+                vectorK != null ? vectorK : defaults.vectorK(),
+                efRuntime != null ? efRuntime : defaults.efRuntime()
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package io.redis.movies.searcher.core.dto;
+
+import java.time.Instant;
+
+public record MaintenanceStatus(
+        String job,
+        String state,
+        boolean dryRun,
+        Instant startedAt,
+        Instant finishedAt,
+        String cursor,
+        long scanned,
+        long matched,
+        long deleted,
+        double keysPerSecond,
+        String error
+) {}
@@ -1,6 +1,7 @@
 package io.redis.movies.searcher.core.dto;
 
 public record MovieDTO(
+        int id,
         String title,
         int year,
         String plot,
@@ -0,0 +1,8 @@
+package io.redis.movies.searcher.core.dto;
+
+import java.util.List;
+
+public record SearchResponse(
+        String resultType,
+        List<MovieDTO> matchedMovies
+) {}
@@ -0,0 +1,11 @@
+package io.redis.movies.searcher.core.dto;
+
+import java.util.List;
+
+public record Suggestions(
+        List<String> titles,
+        List<String> actors
+) {
+
+    public static final Suggestions NONE = new Suggestions(List.of(), List.of());
+}
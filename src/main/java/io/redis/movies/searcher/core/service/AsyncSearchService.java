@@ -0,0 +1,143 @@
+package io.redis.movies.searcher.core.service;
+
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.output.ObjectOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.redis.movies.searcher.SearcherProperties;
+import io.redis.movies.searcher.core.domain.ResultType;
+import io.redis.movies.searcher.core.domain.SearchMode;
+import io.redis.movies.searcher.core.dto.HybridSearchOptions;
+import io.redis.movies.searcher.core.dto.MovieDTO;
+import io.redis.movies.searcher.core.service.SearchMetrics.Stage;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Non-blocking variant of {@link SearchService#rawHybridSearch(String, Integer, HybridSearchOptions)}.
+ *
+ * No platform thread waits on Redis: FT.HYBRID and the HMGETs that hydrate its
+ * results go through Lettuce's async API on one shared connection, and each step is
+ * chained on the completion of the one before. Only a query embedding that is not
+ * cached in the JVM needs a thread of its own: a virtual thread looks it up in the
+ * keyword store, and the model runs on the {@link InferenceExecutor}. When that pool
+ * is saturated the search fails with a
+ * {@link java.util.concurrent.RejectedExecutionException} instead of queueing more work.
+ */
+@Service
+public class AsyncSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncSearchService.class);
+    private static final int DEFAULT_RESULT_LIMIT = 4;
+    private static final ProtocolKeyword FT_HYBRID = new ProtocolKeyword() {
+        private final byte[] name = "FT.HYBRID".getBytes(StandardCharsets.US_ASCII);
+
+        @Override
+        public byte[] getBytes() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return "FT.HYBRID";
+        }
+    };
+
+    private final KeywordService keywordService;
+    private final MovieHydrator movieHydrator;
+    private final QueryEmbeddingCache queryEmbeddingCache;
+    private final SearchMetrics searchMetrics;
+    private final StatefulRedisConnection<byte[], byte[]> asyncRedisConnection;
+    private final HybridSearchOptions defaultHybridOptions;
+    private final ExecutorService lookupExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public AsyncSearchService(KeywordService keywordService, MovieHydrator movieHydrator,
+                              QueryEmbeddingCache queryEmbeddingCache, SearchMetrics searchMetrics,
+                              StatefulRedisConnection<byte[], byte[]> asyncRedisConnection,
+                              SearcherProperties properties) {
+        this.keywordService = keywordService;
+        this.movieHydrator = movieHydrator;
+        this.queryEmbeddingCache = queryEmbeddingCache;
+        this.searchMetrics = searchMetrics;
+        this.asyncRedisConnection = asyncRedisConnection;
+        var hybrid = properties.search().hybrid();
+        this.defaultHybridOptions = new HybridSearchOptions(hybrid.fusion(), hybrid.alpha(), hybrid.beta(),
+                hybrid.rrfConstant(), hybrid.vectorK(), hybrid.efRuntime());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    /**
+     * Runs the same FT.HYBRID query as the RAW mode. Options left null fall back to
+     * {@code searcher.search.hybrid.*}.
+     */
+    public CompletableFuture<Pair<List<MovieDTO>, ResultType>> search(String query, Integer limit,
+                                                                      HybridSearchOptions options) {
+        SearchMetrics.Sample sample = searchMetrics.start(SearchMode.ASYNC, query);
+        final int resultLimit = (limit == null) ? DEFAULT_RESULT_LIMIT : limit;
+        HybridSearchOptions resolved = options.orDefaults(defaultHybridOptions);
+
+        return embed(query, sample)
+                .thenCompose(queryAsVector -> hybrid(HybridQueryBuilder.build(query, queryAsVector, resolved, resultLimit), sample))
+                .thenCompose(keys -> hydrate(keys, sample))
+                .thenApply(movies -> sample.finish(Pair.of(movies, ResultType.HYBRID)));
+    }
+
+    private CompletableFuture<byte[]> embed(String query, SearchMetrics.Sample sample) {
+        long start = System.nanoTime();
+        byte[] cached = queryEmbeddingCache.getIfPresent(query);
+        if (cached != null) {
+            sample.record(Stage.EMBEDDING, System.nanoTime() - start);
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            byte[] vector = queryEmbeddingCache.get(query, keywordService::getOrCreateEmbedding);
+            sample.record(Stage.EMBEDDING, System.nanoTime() - start);
+            return vector;
+        }, lookupExecutor);
+    }
+
+    private CompletableFuture<List<String>> hybrid(byte[][] args, SearchMetrics.Sample sample) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("[ASYNC] Executing {}", HybridQueryBuilder.describe(args));
+        }
+        CommandArgs<byte[], byte[]> commandArgs = new CommandArgs<>(ByteArrayCodec.INSTANCE);
+        for (byte[] arg : args) {
+            commandArgs.add(arg);
+        }
+
+        long start = System.nanoTime();
+        return asyncRedisConnection.async()
+                .dispatch(FT_HYBRID, new ObjectOutput<>(ByteArrayCodec.INSTANCE), commandArgs)
+                .toCompletableFuture()
+                .thenApply(reply -> {
+                    sample.record(Stage.HYBRID, System.nanoTime() - start);
+                    HybridReplyDecoder.HybridReply decoded = HybridReplyDecoder.decode(reply);
+                    if (!decoded.warnings().isEmpty()) {
+                        logger.warn("[ASYNC] FT.HYBRID warnings: {}", decoded.warnings());
+                    }
+                    return decoded.keys();
+                });
+    }
+
+    private CompletableFuture<List<MovieDTO>> hydrate(List<String> keys, SearchMetrics.Sample sample) {
+        long start = System.nanoTime();
+        return movieHydrator.hydrateAsync(keys).thenApply(movies -> {
+            sample.record(Stage.HYDRATE, System.nanoTime() - start);
+            return movies;
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.SearcherProperties;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deletes every movie that shares its title with a movie of a lower id, the one the
+ * importer would have kept.
+ *
+ * Instead of grouping the whole index at once, the job remembers the current owner
+ * of each title in a temporary {@code maintenance:movie-titles} hash. Each slice reads
+ * its titles and their owners in two pipelined round trips, and whichever of the two
+ * movies has the higher id is matched, which may be an owner found in an earlier
+ * slice. The hash is deleted when the run ends and expires on its own otherwise.
+ * Suggestions are left alone, since the movie that keeps the title is still there.
+ */
+@Component
+public class DuplicateTitleCleanup extends MaintenanceJob {
+
+    static final String TITLES_KEY = "maintenance:movie-titles";
+    private static final Duration TITLES_TTL = Duration.ofDays(1);
+    private static final byte[] TITLE_FIELD = "title".getBytes(StandardCharsets.UTF_8);
+
+    public DuplicateTitleCleanup(StringRedisTemplate redisTemplate, MovieSuggestions movieSuggestions,
+                                 SearcherProperties properties) {
+        super("duplicate-titles", redisTemplate, movieSuggestions, properties);
+    }
+
+    @Override
+    protected boolean forgetsTitles() {
+        return false;
+    }
+
+    @Override
+    protected void beforeRun() {
+        redisTemplate.delete(TITLES_KEY);
+    }
+
+    @Override
+    protected void afterRun() {
+        redisTemplate.delete(TITLES_KEY);
+    }
+
+    @Override
+    protected List<String> match(List<String> keys) {
+        List<Object> titles = redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (String key : keys) {
+                connection.hashCommands().hGet(key.getBytes(StandardCharsets.UTF_8), TITLE_FIELD);
+            }
+            return null;
+        });
+
+        Map<String, String> titleByKey = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (titles.get(i) != null) {
+                titleByKey.put(keys.get(i), titles.get(i).toString());
+            }
+        }
+        if (titleByKey.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> distinctTitles = titleByKey.values().stream().distinct().toList();
+        List<Object> owners = redisTemplate.opsForHash().multiGet(TITLES_KEY, new ArrayList<>(distinctTitles));
+        Map<String, String> ownerByTitle = new HashMap<>();
+        for (int i = 0; i < distinctTitles.size(); i++) {
+            if (owners.get(i) != null) {
+                ownerByTitle.put(distinctTitles.get(i), owners.get(i).toString());
+            }
+        }
+
+        List<String> duplicates = new ArrayList<>();
+        Map<String, String> claims = new HashMap<>();
+        titleByKey.forEach((key, title) -> {
+            String owner = ownerByTitle.get(title);
+            if (owner == null || owner.equals(key)) {
+                ownerByTitle.put(title, key);
+                claims.put(title, key);
+            } else if (id(key) < id(owner)) {
+                duplicates.add(owner);
+                ownerByTitle.put(title, key);
+                claims.put(title, key);
+            } else {
+                duplicates.add(key);
+            }
+        });
+        if (!claims.isEmpty()) {
+            redisTemplate.opsForHash().putAll(TITLES_KEY, claims);
+            redisTemplate.expire(TITLES_KEY, TITLES_TTL);
+        }
+        return duplicates;
+    }
+
+    private static long id(String key) {
+        try {
+            return Long.parseLong(key.substring(KEY_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
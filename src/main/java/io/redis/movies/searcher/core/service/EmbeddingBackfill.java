@@ -0,0 +1,199 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.SearcherProperties;
+import io.redis.movies.searcher.core.domain.JobState;
+import io.redis.movies.searcher.core.dto.BackfillStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the plot embedding backfill of {@link MovieService} on a background thread.
+ *
+ * The job starts once the application is ready, so the HTTP port, full-text search
+ * and every movie already embedded are served while it runs. Its SCAN cursor is
+ * checkpointed in the {@code backfill:plot-embeddings} hash each time a page is
+ * fully written; after a restart the job resumes from that cursor instead of
+ * rescanning the keyspace, unless the previous run completed, in which case a new
+ * full scan looks for movies added since. A movie that fails to embed keeps the
+ * checkpoint before its page, so the run ends as failed and the next one retries it.
+ *
+ * The first full scan also adds every movie it goes through to
+ * {@link MovieSuggestions}, so type-ahead covers movies written by other means than
+ * the importer. Later scans only add the movies they embed, keeping startup cost
+ * proportional to the work to do rather than to the catalog.
+ */
+@Component
+public class EmbeddingBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingBackfill.class);
+    static final String CHECKPOINT_KEY = "backfill:plot-embeddings";
+
+    private final MovieService movieService;
+    private final MovieSuggestions movieSuggestions;
+    private final StringRedisTemplate redisTemplate;
+    private final SearcherProperties.Backfill settings;
+
+    private volatile JobState state = JobState.IDLE;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile ScanCheckpoint.Position resumedFrom;
+    private volatile ScanCheckpoint checkpoint;
+    private volatile EmbeddingPipeline pipeline;
+    private volatile String error;
+    private volatile boolean stopping;
+    private volatile Thread worker;
+
+    public EmbeddingBackfill(MovieService movieService, MovieSuggestions movieSuggestions,
+                             StringRedisTemplate redisTemplate, SearcherProperties properties) {
+        this.movieService = movieService;
+        this.movieSuggestions = movieSuggestions;
+        this.redisTemplate = redisTemplate;
+        this.settings = properties.backfill();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!settings.enabled()) {
+            log.info("Embedding backfill is disabled");
+            return;
+        }
+        worker = Thread.ofPlatform().name("plot-embeddings-backfill").daemon(true).start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread running = worker;
+        if (running == null || !running.isAlive()) {
+            return;
+        }
+        stopping = true;
+        running.join(settings.shutdownTimeout());
+        if (running.isAlive()) {
+            // The checkpoint does not exist yet while the saved position is being read
+            ScanCheckpoint current = checkpoint;
+            log.warn("Embedding backfill still running after {}, resuming from {} on the next start",
+                    settings.shutdownTimeout(), current == null ? "the saved checkpoint" : current.position().cursor());
+        }
+    }
+
+    public BackfillStatus status() {
+        ScanCheckpoint current = checkpoint;
+        EmbeddingPipeline currentPipeline = pipeline;
+        EmbeddingPipeline.Report progress = currentPipeline == null ? null : currentPipeline.progress();
+        return new BackfillStatus(state.name(), startedAt, finishedAt,
+                resumedFrom == null ? null : resumedFrom.cursor(),
+                current == null ? null : current.position().cursor(),
+                current == null ? 0 : current.position().scanned(),
+                progress == null ? 0 : progress.read(),
+                progress == null ? 0 : progress.embedded(),
+                progress == null ? 0 : progress.written(),
+                progress == null ? 0 : progress.failed(),
+                progress == null ? 0.0 : progress.rate(progress.written()),
+                error);
+    }
+
+    private void run() {
+        startedAt = Instant.now();
+        state = JobState.RUNNING;
+        try {
+            ScanCheckpoint.Position from = loadCheckpoint();
+            resumedFrom = from;
+            if (from.scanned() > 0) {
+                log.info("Resuming embedding backfill from cursor {} ({} movie keys already scanned)",
+                        from.cursor(), from.scanned());
+            } else {
+                log.info("Scanning for movies with missing embeddings...");
+            }
+            saveCheckpoint(from, JobState.RUNNING);
+            boolean seedSuggestions = !movieSuggestions.seeded();
+
+            ScanCheckpoint tracker = new ScanCheckpoint(from, position -> saveCheckpoint(position, JobState.RUNNING));
+            checkpoint = tracker;
+            pipeline = movieService.newEmbeddingPipeline(tracker::settled);
+            pipeline.run(sink -> movieService.scanMissingEmbeddings(from.cursor(), () -> stopping, page -> {
+                addSuggestions(seedSuggestions ? page.keys() : page.missing());
+                List<EmbeddingPipeline.Item> items = movieService.readPlots(page.missing());
+                List<String> keys = new ArrayList<>(items.size());
+                for (EmbeddingPipeline.Item item : items) {
+                    keys.add(item.key());
+                }
+                // Register the page before queueing its items, so none can settle first
+                tracker.pageRead(page.cursor(), page.scanned(), keys);
+                sink.accept(items);
+            }));
+
+            ScanCheckpoint.Position reached = tracker.position();
+            if (tracker.complete()) {
+                state = JobState.COMPLETED;
+                saveCheckpoint(reached, JobState.COMPLETED);
+                if (seedSuggestions) {
+                    movieSuggestions.markSeeded();
+                }
+                log.info("Embedding backfill completed, {} movie keys scanned", reached.scanned());
+            } else {
+                state = stopping ? JobState.STOPPED : JobState.FAILED;
+                saveCheckpoint(reached, state);
+                long failed = pipeline.progress().failed();
+                if (state == JobState.FAILED) {
+                    error = failed > 0
+                            ? failed + " movies could not be embedded, the next run resumes before them"
+                            : "Scan stopped before the end of the keyspace";
+                }
+                log.info("Embedding backfill {} at cursor {}, {} movie keys scanned",
+                        state.name().toLowerCase(), reached.cursor(), reached.scanned());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = JobState.STOPPED;
+            log.warn("Embedding backfill interrupted");
+        } catch (Exception ex) {
+            state = JobState.FAILED;
+            error = ex.getMessage();
+            log.error("Embedding backfill failed: {}", ex.getMessage(), ex);
+        } finally {
+            finishedAt = Instant.now();
+        }
+    }
+
+    /**
+     * Suggestions are best effort: failing to add them must not stop the backfill.
+     */
+    private void addSuggestions(List<String> keys) {
+        try {
+            movieSuggestions.addMovies(keys);
+        } catch (Exception ex) {
+            log.warn("Could not add suggestions for {} movies: {}", keys.size(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns where the previous run stopped, or the start of the keyspace when
+     * there is no checkpoint or the previous run completed.
+     */
+    private ScanCheckpoint.Position loadCheckpoint() {
+        Map<Object, Object> saved = redisTemplate.opsForHash().entries(CHECKPOINT_KEY);
+        Object cursor = saved.get("cursor");
+        if (cursor == null || JobState.COMPLETED.name().equals(saved.get("state")) || "0".equals(cursor)) {
+            return new ScanCheckpoint.Position("0", 0);
+        }
+        return new ScanCheckpoint.Position(cursor.toString(), Long.parseLong(String.valueOf(saved.get("scanned"))));
+    }
+
+    private void saveCheckpoint(ScanCheckpoint.Position position, JobState state) {
+        redisTemplate.opsForHash().putAll(CHECKPOINT_KEY, Map.of(
+                "cursor", position.cursor(),
+                "scanned", Long.toString(position.scanned()),
+                "state", state.name(),
+                "updatedAt", Instant.now().toString()));
+    }
+}
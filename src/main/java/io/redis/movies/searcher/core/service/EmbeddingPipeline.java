@@ -0,0 +1,280 @@
+package io.redis.movies.searcher.core.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Three-stage pipeline that computes and stores embeddings for a stream of texts.
+ *
+ * <ol>
+ *   <li>read: a single thread pushes pages of (key, text) items produced by the source;</li>
+ *   <li>embed: a fixed number of inference threads each take up to one model batch of
+ *       items and turn them into vectors;</li>
+ *   <li>write: a single thread writes each embedded batch.</li>
+ * </ol>
+ *
+ * Stages are connected by bounded queues, so a slow stage holds back the ones before it
+ * instead of letting work pile up in memory: at most {@code queueBatches} model batches
+ * wait in front of each of the embed and write stages. On top of those, each inference
+ * thread holds the batch it is embedding and the write stage the one it is writing, so
+ * the pipeline holds at most {@link #capacity()} items, that is
+ * {@code (2 * queueBatches + inferenceThreads + 1) * batchSize}, plus the page the
+ * source is handing over. Throughput of every stage is logged periodically and once
+ * the pipeline has drained.
+ *
+ * The keys of every written batch are reported to an optional listener, in the order the
+ * batches are written. Batches that fail to embed or to write are only counted and logged,
+ * so a listener tracking progress never counts their keys as done.
+ */
+final class EmbeddingPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingPipeline.class);
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long POLL_MILLIS = 50;
+
+    /**
+     * A text to embed, the key its vector is written to, and any other fields
+     * the writer stores along with the vector.
+     */
+    record Item(String key, String text, Map<String, String> fields) {
+
+        Item(String key, String text) {
+            this(key, text, Map.of());
+        }
+    }
+
+    /**
+     * Vectors computed for one model batch, in the same order as the keys and their fields.
+     */
+    record Batch(List<String> keys, List<byte[]> vectors, List<Map<String, String>> fields) {}
+
+    /**
+     * What each stage processed, and how long the pipeline ran.
+     */
+    record Report(long read, long embedded, long written, long failed, Duration elapsed) {
+
+        double rate(long items) {
+            double seconds = elapsed.toNanos() / 1_000_000_000.0;
+            return seconds == 0 ? 0.0 : items / seconds;
+        }
+    }
+
+    private final String name;
+    private final int batchSize;
+    private final int inferenceThreads;
+    private final int queueBatches;
+    private final Function<List<String>, List<byte[]>> embed;
+    private final Consumer<Batch> write;
+    private final Consumer<List<String>> settled;
+
+    private final BlockingQueue<Item> toEmbed;
+    private final BlockingQueue<Batch> toWrite;
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong embedded = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean readDone;
+    private volatile boolean embedDone;
+    private volatile long start;
+    private volatile long end;
+
+    EmbeddingPipeline(String name, int batchSize, int inferenceThreads, int queueBatches,
+                      Function<List<String>, List<byte[]>> embed, Consumer<Batch> write) {
+        this(name, batchSize, inferenceThreads, queueBatches, embed, write, keys -> {});
+    }
+
+    EmbeddingPipeline(String name, int batchSize, int inferenceThreads, int queueBatches,
+                      Function<List<String>, List<byte[]>> embed, Consumer<Batch> write,
+                      Consumer<List<String>> settled) {
+        this.name = name;
+        this.batchSize = batchSize;
+        this.inferenceThreads = inferenceThreads;
+        this.queueBatches = queueBatches;
+        this.embed = embed;
+        this.write = write;
+        this.settled = settled;
+        this.toEmbed = new ArrayBlockingQueue<>(batchSize * queueBatches);
+        this.toWrite = new ArrayBlockingQueue<>(queueBatches);
+    }
+
+    /**
+     * Runs the pipeline until the source is exhausted and every batch is written.
+     * The source is called once, on the read thread, with a sink for its pages;
+     * the sink blocks while the embed stage is saturated.
+     */
+    Report run(Consumer<Consumer<List<Item>>> source) throws InterruptedException {
+        start = System.nanoTime();
+        log.info("Starting {} pipeline: {} inference threads, batches of {}, at most {} items in flight",
+                name, inferenceThreads, batchSize, capacity());
+
+        Thread reader = Thread.ofPlatform().name(name + "-read").start(() -> {
+            try {
+                source.accept(this::enqueue);
+            } catch (Exception ex) {
+                log.error("Reading {} stopped: {}", name, ex.getMessage(), ex);
+            } finally {
+                readDone = true;
+            }
+        });
+
+        List<Thread> embedders = new ArrayList<>(inferenceThreads);
+        for (int i = 0; i < inferenceThreads; i++) {
+            embedders.add(Thread.ofPlatform().name(name + "-embed-" + i).start(this::embedBatches));
+        }
+
+        Thread writer = Thread.ofPlatform().name(name + "-write").start(this::writeBatches);
+
+        reader.join();
+        for (Thread embedder : embedders) {
+            embedder.join();
+        }
+        embedDone = true;
+        writer.join();
+        end = System.nanoTime();
+
+        Report report = progress();
+        log.info("{} pipeline finished in {} ms: read {} ({}/s), embedded {} ({}/s), written {} ({}/s), failed {}",
+                name, report.elapsed().toMillis(),
+                report.read(), format(report.rate(report.read())),
+                report.embedded(), format(report.rate(report.embedded())),
+                report.written(), format(report.rate(report.written())),
+                report.failed());
+        return report;
+    }
+
+    /**
+     * Most items the pipeline holds at once: the batches queued in front of the embed and
+     * write stages, one per inference thread, and the one being written.
+     */
+    long capacity() {
+        return (2L * queueBatches + inferenceThreads + 1) * batchSize;
+    }
+
+    /**
+     * What each stage has processed so far; safe to call from any thread while the pipeline runs.
+     */
+    Report progress() {
+        long elapsed = start == 0 ? 0 : (end == 0 ? System.nanoTime() : end) - start;
+        return new Report(read.get(), embedded.get(), written.get(), failed.get(), Duration.ofNanos(elapsed));
+    }
+
+    private void enqueue(List<Item> page) {
+        try {
+            for (Item item : page) {
+                toEmbed.put(item);
+                read.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing texts to embed", e);
+        }
+    }
+
+    private void embedBatches() {
+        List<Item> batch;
+        while ((batch = nextBatch()) != null) {
+            List<String> keys = new ArrayList<>(batch.size());
+            List<String> texts = new ArrayList<>(batch.size());
+            List<Map<String, String>> fields = new ArrayList<>(batch.size());
+            for (Item item : batch) {
+                keys.add(item.key());
+                texts.add(item.text());
+                fields.add(item.fields());
+            }
+            try {
+                List<byte[]> vectors = embed.apply(texts);
+                embedded.addAndGet(vectors.size());
+                toWrite.put(new Batch(keys, vectors, fields));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                failed.addAndGet(batch.size());
+                log.error("Embedding a batch of {} {} texts failed: {}", batch.size(), name, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Takes up to one model batch, waiting for it to fill unless reading is over.
+     * Returns null once reading is over and nothing is left.
+     */
+    private List<Item> nextBatch() {
+        List<Item> batch = new ArrayList<>(batchSize);
+        try {
+            while (batch.size() < batchSize) {
+                Item item = toEmbed.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (item == null) {
+                    if (readDone && toEmbed.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                batch.add(item);
+                toEmbed.drainTo(batch, batchSize - batch.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return batch.isEmpty() ? null : batch;
+    }
+
+    private void writeBatches() {
+        long lastProgress = start;
+        while (true) {
+            Batch batch;
+            try {
+                batch = toWrite.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch == null) {
+                if (embedDone && toWrite.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                write.accept(batch);
+                written.addAndGet(batch.keys().size());
+                settle(batch.keys());
+            } catch (RuntimeException ex) {
+                failed.addAndGet(batch.keys().size());
+                log.error("Writing a batch of {} {} embeddings failed: {}", batch.keys().size(), name, ex.getMessage(), ex);
+            }
+
+            long now = System.nanoTime();
+            if (now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                lastProgress = now;
+                double seconds = (now - start) / 1_000_000_000.0;
+                log.info("{} pipeline: read {} ({}/s), embedded {} ({}/s), written {} ({}/s), queued {} texts / {} batches",
+                        name, read.get(), format(read.get() / seconds), embedded.get(), format(embedded.get() / seconds),
+                        written.get(), format(written.get() / seconds), toEmbed.size(), toWrite.size());
+            }
+        }
+    }
+
+    private void settle(List<String> keys) {
+        try {
+            settled.accept(keys);
+        } catch (RuntimeException ex) {
+            log.warn("Listener of settled {} batches failed: {}", name, ex.getMessage(), ex);
+        }
+    }
+
+    private static String format(double rate) {
+        return String.format("%.1f", rate);
+    }
+}
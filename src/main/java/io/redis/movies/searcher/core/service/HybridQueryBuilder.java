@@ -0,0 +1,161 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.core.domain.FusionStrategy;
+import io.redis.movies.searcher.core.dto.HybridSearchOptions;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds FT.HYBRID arguments for the movie index.
+ *
+ * FT.HYBRID syntax (Redis 8.4+):
+ * FT.HYBRID index
+ *   SEARCH query
+ *   VSIM vector_field $BLOB KNN count K k [EF_RUNTIME ef]
+ *   COMBINE LINEAR 4 ALPHA alpha BETA beta | COMBINE RRF 2 CONSTANT constant
+ *   LIMIT 0 limit
+ *   PARAMS 2 BLOB vector_bytes
+ *
+ * Every constant token is encoded once; only the query text, the numbers and
+ * the vector change from one call to the next.
+ */
+final class HybridQueryBuilder {
+
+    private static final byte[] INDEX_NAME = bytes("movie_index");
+    private static final byte[] SEARCH = bytes("SEARCH");
+    private static final byte[] VSIM = bytes("VSIM");
+    private static final byte[] VECTOR_FIELD = bytes("@plotEmbedding");
+    private static final byte[] BLOB_PARAM = bytes("$BLOB");
+    private static final byte[] KNN = bytes("KNN");
+    private static final byte[] K = bytes("K");
+    private static final byte[] EF_RUNTIME = bytes("EF_RUNTIME");
+    private static final byte[] COMBINE = bytes("COMBINE");
+    private static final byte[] LINEAR = bytes("LINEAR");
+    private static final byte[] ALPHA = bytes("ALPHA");
+    private static final byte[] BETA = bytes("BETA");
+    private static final byte[] RRF = bytes("RRF");
+    private static final byte[] CONSTANT = bytes("CONSTANT");
+    private static final byte[] LIMIT = bytes("LIMIT");
+    private static final byte[] PARAMS = bytes("PARAMS");
+    private static final byte[] BLOB = bytes("BLOB");
+
+    private static final byte[][] SMALL_INTEGERS = new byte[1025][];
+
+    static {
+        for (int i = 0; i < SMALL_INTEGERS.length; i++) {
+            SMALL_INTEGERS[i] = bytes(Integer.toString(i));
+        }
+    }
+
+    private HybridQueryBuilder() {}
+
+    /**
+     * Builds the arguments for one hybrid query. The options must already be
+     * resolved against the defaults, so only {@code efRuntime} may be null.
+     */
+    static byte[][] build(String query, byte[] vector, HybridSearchOptions options, int limit) {
+        boolean withEfRuntime = options.efRuntime() != null && options.efRuntime() > 0;
+        boolean linear = options.fusion() == FusionStrategy.LINEAR;
+        int vectorK = (options.vectorK() != null && options.vectorK() > 0) ? options.vectorK() : limit;
+
+        byte[][] args = new byte[(withEfRuntime ? 17 : 15) + (linear ? 6 : 4) + 3][];
+        int i = 0;
+        args[i++] = INDEX_NAME;
+        args[i++] = SEARCH;
+        args[i++] = bytes(escapeQuery(query));
+        args[i++] = VSIM;
+        args[i++] = VECTOR_FIELD;
+        args[i++] = BLOB_PARAM;
+        args[i++] = KNN;
+        args[i++] = integer(withEfRuntime ? 4 : 2);  // count of KNN args
+        args[i++] = K;
+        args[i++] = integer(vectorK);
+        if (withEfRuntime) {
+            args[i++] = EF_RUNTIME;
+            args[i++] = integer(options.efRuntime());
+        }
+        args[i++] = COMBINE;
+        if (linear) {
+            args[i++] = LINEAR;
+            args[i++] = integer(4);  // count of LINEAR args
+            args[i++] = ALPHA;
+            args[i++] = bytes(Double.toString(options.alpha()));
+            args[i++] = BETA;
+            args[i++] = bytes(Double.toString(options.beta()));
+        } else {
+            args[i++] = RRF;
+            args[i++] = integer(2);  // count of RRF args
+            args[i++] = CONSTANT;
+            args[i++] = integer(options.rrfConstant());
+        }
+        args[i++] = LIMIT;
+        args[i++] = integer(0);  // offset
+        args[i++] = integer(limit);
+        args[i++] = PARAMS;
+        args[i++] = integer(2);
+        args[i++] = BLOB;
+        args[i++] = vector;
+        return args;
+    }
+
+    /**
+     * Renders the arguments for logging, with the vector replaced by its size.
+     */
+    static String describe(byte[][] args) {
+        StringBuilder command = new StringBuilder("FT.HYBRID");
+        for (int i = 0; i < args.length; i++) {
+            command.append(' ');
+            if (i == args.length - 1) {
+                command.append('<').append(args[i].length).append(" bytes>");
+            } else {
+                command.append(new String(args[i], StandardCharsets.UTF_8));
+            }
+        }
+        return command.toString();
+    }
+
+    /**
+     * Escapes special RediSearch characters ,.<>{}[]"':;!@#$%^&*()-+=~\ and
+     * collapses runs of whitespace into a single space.
+     */
+    static String escapeQuery(String query) {
+        StringBuilder escaped = new StringBuilder(query.length() + 8);
+        boolean inWhitespace = false;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (isWhitespace(c)) {
+                if (!inWhitespace) {
+                    escaped.append(' ');
+                    inWhitespace = true;
+                }
+                continue;
+            }
+            inWhitespace = false;
+            if (isSpecial(c)) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isSpecial(char c) {
+        return switch (c) {
+            case ',', '.', '<', '>', '{', '}', '[', ']', '"', '\'', ':', ';', '!', '@', '#',
+                 '$', '%', '^', '&', '*', '(', ')', '-', '+', '=', '~', '\\' -> true;
+            default -> false;
+        };
+    }
+
+    private static byte[] integer(int value) {
+        return (value >= 0 && value < SMALL_INTEGERS.length) ? SMALL_INTEGERS[value] : bytes(Integer.toString(value));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,188 @@
+package io.redis.movies.searcher.core.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes FT.HYBRID replies into the document keys needed to hydrate the results.
+ *
+ * The reply is a map of total_results, results, execution_time and warnings, sent
+ * either as a flat [key1, value1, key2, value2, ...] list or as a map. Keys are
+ * matched on their raw bytes, and the only Strings built are the document keys
+ * themselves. Nothing is logged per element.
+ */
+final class HybridReplyDecoder {
+
+    private static final byte[] TOTAL_RESULTS = bytes("total_results");
+    private static final byte[] RESULTS = bytes("results");
+    private static final byte[] EXECUTION_TIME = bytes("execution_time");
+    private static final byte[] WARNINGS = bytes("warnings");
+    private static final byte[] KEY = bytes("__key");
+    private static final byte[] ID = bytes("id");
+
+    static final HybridReply EMPTY = new HybridReply(0, List.of(), 0.0, List.of());
+
+    /**
+     * The decoded reply. Keys are kept in the order Redis ranked them.
+     */
+    record HybridReply(long totalResults, List<String> keys, double executionTime, List<String> warnings) {}
+
+    private HybridReplyDecoder() {}
+
+    static HybridReply decode(Object reply) {
+        if (reply instanceof List<?> flat) {
+            return decodeFlat(flat);
+        } else if (reply instanceof Map<?, ?> map) {
+            return decodeMap(map);
+        }
+        return EMPTY;
+    }
+
+    private static HybridReply decodeFlat(List<?> reply) {
+        long totalResults = 0;
+        List<String> keys = List.of();
+        double executionTime = 0.0;
+        List<String> warnings = List.of();
+
+        for (int i = 0; i + 1 < reply.size(); i += 2) {
+            Object name = reply.get(i);
+            Object value = reply.get(i + 1);
+            if (is(name, RESULTS)) {
+                keys = decodeResults(value);
+            } else if (is(name, TOTAL_RESULTS)) {
+                totalResults = toLong(value);
+            } else if (is(name, EXECUTION_TIME)) {
+                executionTime = toDouble(value);
+            } else if (is(name, WARNINGS)) {
+                warnings = toStrings(value);
+            }
+        }
+        return new HybridReply(totalResults, keys, executionTime, warnings);
+    }
+
+    private static HybridReply decodeMap(Map<?, ?> reply) {
+        long totalResults = 0;
+        List<String> keys = List.of();
+        double executionTime = 0.0;
+        List<String> warnings = List.of();
+
+        for (Map.Entry<?, ?> entry : reply.entrySet()) {
+            Object name = entry.getKey();
+            if (is(name, RESULTS)) {
+                keys = decodeResults(entry.getValue());
+            } else if (is(name, TOTAL_RESULTS)) {
+                totalResults = toLong(entry.getValue());
+            } else if (is(name, EXECUTION_TIME)) {
+                executionTime = toDouble(entry.getValue());
+            } else if (is(name, WARNINGS)) {
+                warnings = toStrings(entry.getValue());
+            }
+        }
+        return new HybridReply(totalResults, keys, executionTime, warnings);
+    }
+
+    private static List<String> decodeResults(Object value) {
+        if (!(value instanceof List<?> results)) {
+            return List.of();
+        }
+        List<String> keys = new ArrayList<>(results.size());
+        for (Object result : results) {
+            Object key = null;
+            if (result instanceof List<?> fields) {
+                key = findKey(fields);
+            } else if (result instanceof Map<?, ?> fields) {
+                key = findKey(fields);
+            }
+            if (key != null) {
+                keys.add(toString(key));
+            }
+        }
+        return keys;
+    }
+
+    private static Object findKey(List<?> fields) {
+        for (int i = 0; i + 1 < fields.size(); i += 2) {
+            // FT.HYBRID uses "__key" instead of "id" for the document key
+            Object name = fields.get(i);
+            if (is(name, KEY) || is(name, ID)) {
+                return fields.get(i + 1);
+            }
+        }
+        return null;
+    }
+
+    private static Object findKey(Map<?, ?> fields) {
+        for (Map.Entry<?, ?> entry : fields.entrySet()) {
+            if (is(entry.getKey(), KEY) || is(entry.getKey(), ID)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static boolean is(Object name, byte[] expected) {
+        if (name instanceof byte[] raw) {
+            return Arrays.equals(raw, expected);
+        } else if (name instanceof String text) {
+            if (text.length() != expected.length) {
+                return false;
+            }
+            for (int i = 0; i < expected.length; i++) {
+                if (text.charAt(i) != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        } else if (value instanceof byte[] raw) {
+            long result = 0;
+            for (byte digit : raw) {
+                result = result * 10 + (digit - '0');
+            }
+            return result;
+        } else if (value instanceof String text) {
+            return Long.parseLong(text);
+        }
+        return 0;
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        } else if (value != null) {
+            return Double.parseDouble(toString(value));
+        }
+        return 0.0;
+    }
+
+    private static List<String> toStrings(Object value) {
+        if (!(value instanceof List<?> items) || items.isEmpty()) {
+            return List.of();
+        }
+        List<String> strings = new ArrayList<>(items.size());
+        for (Object item : items) {
+            strings.add(toString(item));
+        }
+        return strings;
+    }
+
+    private static String toString(Object value) {
+        if (value instanceof byte[] raw) {
+            return new String(raw, StandardCharsets.UTF_8);
+        }
+        return String.valueOf(value);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
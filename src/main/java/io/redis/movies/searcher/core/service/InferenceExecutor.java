@@ -0,0 +1,124 @@
+package io.redis.movies.searcher.core.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.redis.movies.searcher.SearcherProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool that runs the query embedding model, so model work never competes
+ * with itself for more cores than the pool has threads.
+ *
+ * Searches hand their inference to the pool instead of running it on the request
+ * thread: {@link #submit} for the async path, {@link #run} for blocking callers,
+ * which wait for the result. Up to {@code searcher.inference.queue-size} calls wait
+ * for a thread; beyond that calls are rejected with a
+ * {@link RejectedExecutionException} rather than queued. Only model calls belong
+ * here; lookups around them stay on the caller's thread.
+ *
+ * Publishes the queue depth, the busy threads, the time calls waited for a thread
+ * and the time they ran, as {@code search.inference.*} meters.
+ */
+@Component
+public class InferenceExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Timer queueWait;
+    private final Timer inference;
+    private final Counter rejected;
+
+    public InferenceExecutor(SearcherProperties properties, MeterRegistry meterRegistry) {
+        var settings = properties.inference();
+        int threads = settings.threads() > 0 ? settings.threads() : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(settings.queueSize()),
+                Thread.ofPlatform().name("search-inference-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("search.inference.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Inference calls waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("search.inference.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Inference threads running the model")
+                .register(meterRegistry);
+        Gauge.builder("search.inference.threads", executor, ThreadPoolExecutor::getMaximumPoolSize)
+                .register(meterRegistry);
+        this.queueWait = timer(meterRegistry, "search.inference.queue.wait", "Time inference calls waited for a thread");
+        this.inference = timer(meterRegistry, "search.inference", "Time spent running the embedding model");
+        this.rejected = meterRegistry.counter("search.inference.rejected");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99, 0.999)
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public int threads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Runs the work on an inference thread.
+     *
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timed(work);
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw ex;
+        }
+    }
+
+    /**
+     * Runs the work on an inference thread and waits for its result.
+     *
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public <T> T run(Supplier<T> work) {
+        try {
+            return submit(work).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private <T> T timed(Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            inference.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
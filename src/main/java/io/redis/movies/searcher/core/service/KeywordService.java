@@ -0,0 +1,283 @@
+package io.redis.movies.searcher.core.service;
+
+import com.redis.om.spring.vectorize.Embedder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.redis.movies.searcher.SearcherProperties;
+import io.redis.movies.searcher.core.domain.Keyword;
+import io.redis.movies.searcher.core.domain.VectorDataType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisZSetCommands.ZAddArgs;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Stores query embeddings under a key derived from the normalized query.
+ *
+ * Lookups are a single HGET on {@code keyword:<digest>} rather than a full-text
+ * match on {@code keyword_index}, which also rules out returning the embedding of
+ * a different query that merely contains the text. Each hash expires once it has
+ * gone unused for the configured TTL, and the number of stored keywords is capped
+ * by evicting the least recently used entries, tracked in a sorted set scored by
+ * last use. Every hit refreshes both in the same pipeline as its HGET. Hashes
+ * stored under generated ids by earlier versions are removed by
+ * {@link LegacyKeywordPurge}.
+ *
+ * The model runs on the {@link InferenceExecutor}, never on the caller's thread.
+ * New embeddings are returned to the caller as soon as they are computed; writing
+ * them to Redis is handed to a background writer that batches them into
+ * pipelined writes, unless write-behind is disabled.
+ *
+ * Embeddings are stored and returned in {@code searcher.vector-index.data-type}.
+ * A stored embedding of a different size predates a data type change and is
+ * treated as a miss.
+ */
+@Service
+public class KeywordService {
+
+    private static final Logger log = LoggerFactory.getLogger(KeywordService.class);
+    private static final String KEY_PREFIX = "keyword:";
+    private static final String CREATED_KEY = "keywords:created";
+    private static final byte[] CREATED_KEY_BYTES = CREATED_KEY.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ID_FIELD = "id".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] VALUE_FIELD = "value".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EMBEDDING_FIELD = "embedding".getBytes(StandardCharsets.UTF_8);
+    private static final int LOOKUP_REPLIES = 3;
+
+    private final Embedder embedder;
+    private final InferenceExecutor inferenceExecutor;
+    private final Field valueField;
+    private final StringRedisTemplate redisTemplate;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final KeywordWriteBehind writeBehind;
+    private final VectorDataType dataType;
+
+    public KeywordService(Embedder embedder, InferenceExecutor inferenceExecutor, StringRedisTemplate redisTemplate,
+                          SearcherProperties properties, MeterRegistry meterRegistry) {
+        this.embedder = embedder;
+        this.inferenceExecutor = inferenceExecutor;
+        this.redisTemplate = redisTemplate;
+        this.maxEntries = properties.keywords().maxEntries();
+        this.ttl = properties.keywords().ttl();
+        this.dataType = properties.vectorIndex().dataType();
+        try {
+            this.valueField = Keyword.class.getDeclaredField("value");
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Keyword has no value field", e);
+        }
+
+        var writeBehindProperties = properties.keywords().writeBehind();
+        if (writeBehindProperties.enabled()) {
+            this.writeBehind = new KeywordWriteBehind(
+                    writeBehindProperties.queueCapacity(),
+                    writeBehindProperties.batchSize(),
+                    writeBehindProperties.flushInterval(),
+                    this::saveAll);
+            Gauge.builder("search.keywords.write-behind.pending", writeBehind, KeywordWriteBehind::pending)
+                    .register(meterRegistry);
+            Gauge.builder("search.keywords.write-behind.dropped", writeBehind, KeywordWriteBehind::dropped)
+                    .register(meterRegistry);
+        } else {
+            this.writeBehind = null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (writeBehind != null) {
+            writeBehind.shutdown();
+        }
+    }
+
+    /**
+     * Derives the deterministic keyword id for an already normalized query.
+     */
+    public static String idFor(String normalizedQuery) {
+        return DigestUtils.md5DigestAsHex(normalizedQuery.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the stored embedding for the normalized query, if there is one.
+     */
+    public Optional<byte[]> findEmbedding(String normalizedQuery) {
+        long now = System.currentTimeMillis();
+        String id = idFor(normalizedQuery);
+        List<Object> replies = redisTemplate.executePipelined((RedisConnection connection) -> {
+            lookUp(connection, id, now);
+            return null;
+        }, RedisSerializer.byteArray());
+        return Optional.ofNullable((byte[]) replies.get(0))
+                .filter(blob -> blob.length == VectorCodec.blobSize(dataType));
+    }
+
+    /**
+     * Returns the embedding for the normalized query, computing and storing it on a miss.
+     */
+    public byte[] getOrCreateEmbedding(String normalizedQuery) {
+        return findEmbedding(normalizedQuery)
+                .orElseGet(() -> create(normalizedQuery).getEmbedding());
+    }
+
+    /**
+     * Same as {@link #getOrCreateEmbedding(String)} for many queries at once: the stored
+     * embeddings are read with one pipeline of lookups, and every query without one is
+     * embedded in a single model batch. Returns one embedding per query, in order.
+     */
+    public List<byte[]> getOrCreateEmbeddings(List<String> normalizedQueries) {
+        long now = System.currentTimeMillis();
+        List<Object> stored = redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (String query : normalizedQueries) {
+                lookUp(connection, idFor(query), now);
+            }
+            return null;
+        }, RedisSerializer.byteArray());
+
+        List<byte[]> embeddings = new ArrayList<>(normalizedQueries.size());
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < normalizedQueries.size(); i++) {
+            byte[] embedding = (byte[]) stored.get(i * LOOKUP_REPLIES);
+            if (embedding == null || embedding.length != VectorCodec.blobSize(dataType)) {
+                missing.add(i);
+                embedding = null;
+            }
+            embeddings.add(embedding);
+        }
+        if (missing.isEmpty()) {
+            return embeddings;
+        }
+
+        List<String> values = new ArrayList<>(missing.size());
+        for (int i : missing) {
+            values.add(normalizedQueries.get(i));
+        }
+        List<byte[]> vectors = inferenceExecutor.run(() -> embedder.getTextEmbeddingsAsBytes(values, valueField));
+        List<Keyword> created = new ArrayList<>(missing.size());
+        for (int j = 0; j < missing.size(); j++) {
+            Keyword keyword = new Keyword(idFor(values.get(j)), values.get(j));
+            keyword.setEmbedding(VectorCodec.convert(vectors.get(j), VectorDataType.FLOAT32, dataType));
+            embeddings.set(missing.get(j), keyword.getEmbedding());
+            created.add(keyword);
+        }
+        if (writeBehind != null) {
+            created.forEach(writeBehind::enqueue);
+        } else {
+            saveAll(created);
+        }
+        return embeddings;
+    }
+
+    /**
+     * Queues an HGET of the stored embedding, and marks the keyword as used so it is
+     * the last to expire or be evicted: PEXPIRE is a no-op when the hash is missing,
+     * and ZADD XX only moves ids already in the log. Adds {@link #LOOKUP_REPLIES}
+     * replies to the pipeline, the embedding first.
+     */
+    private void lookUp(RedisConnection connection, String id, long now) {
+        byte[] key = (KEY_PREFIX + id).getBytes(StandardCharsets.UTF_8);
+        connection.hashCommands().hGet(key, EMBEDDING_FIELD);
+        connection.keyCommands().pExpire(key, ttl.toMillis());
+        connection.zSetCommands().zAdd(CREATED_KEY_BYTES, now, id.getBytes(StandardCharsets.UTF_8),
+                ZAddArgs.ifExists());
+    }
+
+    /**
+     * Computes the embedding of the normalized query without storing it.
+     */
+    public byte[] embed(String normalizedQuery) {
+        return toKeyword(normalizedQuery).getEmbedding();
+    }
+
+    private Keyword toKeyword(String normalizedQuery) {
+        Keyword keyword = new Keyword(idFor(normalizedQuery), normalizedQuery);
+        inferenceExecutor.run(() -> {
+            embedder.processEntity(keyword);
+            return keyword;
+        });
+        keyword.setEmbedding(VectorCodec.convert(keyword.getEmbedding(), VectorDataType.FLOAT32, dataType));
+        return keyword;
+    }
+
+    private Keyword create(String normalizedQuery) {
+        Keyword keyword = toKeyword(normalizedQuery);
+        if (writeBehind != null) {
+            writeBehind.enqueue(keyword);
+        } else {
+            saveAll(List.of(keyword));
+        }
+        return keyword;
+    }
+
+    /**
+     * Writes keywords whose embedding is already computed in a single pipeline.
+     */
+    void saveAll(List<Keyword> keywords) {
+        redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (Keyword keyword : keywords) {
+                byte[] key = (KEY_PREFIX + keyword.getId()).getBytes(StandardCharsets.UTF_8);
+                connection.hashCommands().hMSet(key, Map.of(
+                        ID_FIELD, keyword.getId().getBytes(StandardCharsets.UTF_8),
+                        VALUE_FIELD, keyword.getValue().getBytes(StandardCharsets.UTF_8),
+                        EMBEDDING_FIELD, keyword.getEmbedding()
+                ));
+            }
+            return null;
+        });
+        track(keywords.stream().map(Keyword::getId).toList());
+    }
+
+    /**
+     * Applies the TTL to freshly written keywords and evicts the least recently
+     * used ones once the store holds more than the configured number of entries.
+     */
+    void track(List<String> ids) {
+        long now = System.currentTimeMillis();
+        long expiredBefore = now - ttl.toMillis();
+
+        List<Object> replies = redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (String id : ids) {
+                byte[] key = (KEY_PREFIX + id).getBytes(StandardCharsets.UTF_8);
+                connection.keyCommands().pExpire(key, ttl.toMillis());
+                connection.zSetCommands().zAdd(CREATED_KEY_BYTES, now, id.getBytes(StandardCharsets.UTF_8));
+            }
+            // Hashes unused for their TTL are already gone, so drop them from the log too
+            connection.zSetCommands().zRemRangeByScore(CREATED_KEY_BYTES, 0, expiredBefore);
+            connection.zSetCommands().zCard(CREATED_KEY_BYTES);
+            return null;
+        });
+
+        long stored = (Long) replies.get(replies.size() - 1);
+        if (stored > maxEntries) {
+            evictOldest(stored - maxEntries);
+        }
+    }
+
+    private void evictOldest(long count) {
+        Set<String> evicted = redisTemplate.opsForZSet().range(CREATED_KEY, 0, count - 1);
+        if (evicted == null || evicted.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (String id : evicted) {
+                connection.keyCommands().unlink((KEY_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+                connection.zSetCommands().zRem(CREATED_KEY_BYTES, id.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        log.info("Evicted {} keywords over the cap of {}", evicted.size(), maxEntries);
+    }
+}
@@ -0,0 +1,119 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.core.domain.Keyword;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Background writer that batches newly computed keywords before persisting them.
+ *
+ * A batch is flushed once it reaches the configured size or once the flush
+ * interval has passed since its first keyword was queued, whichever comes first.
+ * When the queue is full new keywords are dropped: they are still served from
+ * the in-process cache and will simply be recomputed on a later miss.
+ */
+class KeywordWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(KeywordWriteBehind.class);
+
+    private final BlockingQueue<Keyword> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Consumer<List<Keyword>> writer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    KeywordWriteBehind(int queueCapacity, int batchSize, Duration flushInterval,
+                       Consumer<List<Keyword>> writer) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.writer = writer;
+        this.worker = Thread.ofPlatform()
+                .name("keyword-write-behind")
+                .daemon()
+                .start(this::run);
+    }
+
+    void enqueue(Keyword keyword) {
+        if (!queue.offer(keyword)) {
+            long total = dropped.incrementAndGet();
+            log.warn("Write-behind queue is full, dropped keyword '{}' ({} dropped so far)",
+                    keyword.getValue(), total);
+        }
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+
+    int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Stops the worker and writes whatever is still queued.
+     */
+    void shutdown() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Keyword> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int i = 0; i < remaining.size(); i += batchSize) {
+            flush(remaining.subList(i, Math.min(i + batchSize, remaining.size())));
+        }
+    }
+
+    private void run() {
+        List<Keyword> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Keyword first = queue.take();
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Keyword next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutting down: flush what was collected, the rest is drained by shutdown()
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Keyword> batch) {
+        try {
+            writer.accept(batch);
+            log.debug("Persisted {} keywords", batch.size());
+        } catch (Exception ex) {
+            log.error("Error persisting {} keywords: {}", batch.size(), ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.redis.movies.searcher.core.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * One-off removal of the {@code keyword:*} hashes written before {@link KeywordService}
+ * keyed them by digest.
+ *
+ * Those hashes have a generated id, so no lookup ever reads them again, and they
+ * have neither a TTL nor an entry in {@code keywords:created}, so nothing would ever
+ * evict them: they would stay in {@code keyword_index} and in memory for good. Once
+ * the application is ready a background thread walks {@code keyword:*} one SCAN page
+ * at a time and unlinks every key whose id is not an MD5 digest. When the walk
+ * completes {@code keywords:legacy-purged} is set and later starts skip it.
+ */
+@Component
+public class LegacyKeywordPurge {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyKeywordPurge.class);
+    private static final String KEY_PREFIX = "keyword:";
+    static final String DONE_KEY = "keywords:legacy-purged";
+    private static final Pattern DIGEST_ID = Pattern.compile("[0-9a-f]{32}");
+    private static final int SCAN_PAGE_SIZE = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+
+    public LegacyKeywordPurge(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(DONE_KEY))) {
+            return;
+        }
+        Thread.ofVirtual().name("legacy-keyword-purge").start(() -> {
+            try {
+                purge();
+            } catch (Exception ex) {
+                log.warn("Removing legacy keywords failed, retrying on the next start: {}", ex.getMessage(), ex);
+            }
+        });
+    }
+
+    /**
+     * Unlinks every legacy keyword and returns how many there were.
+     */
+    public long purge() {
+        long start = System.nanoTime();
+        long removed = 0;
+        String cursor = "0";
+        do {
+            SearchCommands.ScanReply reply = SearchCommands.scan(redisTemplate, cursor, KEY_PREFIX + "*", SCAN_PAGE_SIZE);
+            List<String> legacy = new ArrayList<>();
+            for (String key : reply.keys()) {
+                if (!DIGEST_ID.matcher(key).region(KEY_PREFIX.length(), key.length()).matches()) {
+                    legacy.add(key);
+                }
+            }
+            if (!legacy.isEmpty()) {
+                unlink(legacy);
+                removed += legacy.size();
+            }
+            cursor = reply.cursor();
+        } while (!"0".equals(cursor));
+
+        redisTemplate.opsForValue().set(DONE_KEY, Instant.now().toString());
+        log.info("Removed {} legacy keywords in {} ms", removed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return removed;
+    }
+
+    private void unlink(List<String> keys) {
+        redisTemplate.execute((RedisConnection connection) -> {
+            byte[][] rawKeys = new byte[keys.size()][];
+            for (int i = 0; i < keys.size(); i++) {
+                rawKeys[i] = keys.get(i).getBytes(StandardCharsets.UTF_8);
+            }
+            return connection.keyCommands().unlink(rawKeys);
+        });
+    }
+}
@@ -0,0 +1,211 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.SearcherProperties;
+import io.redis.movies.searcher.core.domain.JobState;
+import io.redis.movies.searcher.core.dto.MaintenanceStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cleanup job that walks {@code movie:*} from the application, one bounded SCAN
+ * slice at a time, and deletes the movies a subclass matches.
+ *
+ * Every command sent works on at most one slice, so Redis keeps serving searches
+ * between them, and slices are spaced to stay under the configured keys per second.
+ * Keys are removed with UNLINK, which frees their memory off the main thread, and
+ * unless {@link #forgetsTitles()} says otherwise their titles are first removed from
+ * {@link MovieSuggestions}. In dry-run mode the job matches as usual but deletes
+ * nothing. Only one run of a job happens at a time, on its own thread; progress is
+ * logged periodically and available from {@link #status()}.
+ */
+public abstract class MaintenanceJob {
+
+    private static final Logger log = LoggerFactory.getLogger(MaintenanceJob.class);
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    static final String KEY_PREFIX = "movie:";
+
+    protected final StringRedisTemplate redisTemplate;
+    private final MovieSuggestions movieSuggestions;
+    private final String name;
+    private final int sliceSize;
+    private final int keysPerSecond;
+
+    private volatile JobState state = JobState.IDLE;
+    private volatile boolean dryRun;
+    private volatile boolean stopping;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String cursor;
+    private volatile long scanned;
+    private volatile long matched;
+    private volatile long deleted;
+    private volatile long elapsedNanos;
+    private volatile String error;
+    private Thread worker;
+
+    protected MaintenanceJob(String name, StringRedisTemplate redisTemplate, MovieSuggestions movieSuggestions,
+                             SearcherProperties properties) {
+        this.name = name;
+        this.redisTemplate = redisTemplate;
+        this.movieSuggestions = movieSuggestions;
+        this.sliceSize = properties.maintenance().sliceSize();
+        this.keysPerSecond = properties.maintenance().keysPerSecond();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Starts a run in the background; returns false if one is already running.
+     */
+    public synchronized boolean start(boolean dryRun) {
+        if (worker != null && worker.isAlive()) {
+            return false;
+        }
+        this.dryRun = dryRun;
+        stopping = false;
+        state = JobState.RUNNING;
+        startedAt = Instant.now();
+        finishedAt = null;
+        cursor = "0";
+        scanned = 0;
+        matched = 0;
+        deleted = 0;
+        elapsedNanos = 0;
+        error = null;
+        worker = Thread.ofPlatform().name(name).daemon(true).start(this::run);
+        return true;
+    }
+
+    /**
+     * Asks a running job to stop after its current slice.
+     */
+    @PreDestroy
+    public void stop() {
+        stopping = true;
+    }
+
+    public MaintenanceStatus status() {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return new MaintenanceStatus(name, state.name(), dryRun, startedAt, finishedAt, cursor,
+                scanned, matched, deleted, seconds == 0 ? 0.0 : scanned / seconds, error);
+    }
+
+    /**
+     * Called once before the first slice, for jobs that keep state across slices.
+     */
+    protected void beforeRun() {}
+
+    /**
+     * Called once after the last slice, whether the run completed or not.
+     */
+    protected void afterRun() {}
+
+    /**
+     * Returns the keys to delete among one slice of movie keys. Matches may include
+     * keys of earlier slices.
+     */
+    protected abstract List<String> match(List<String> keys);
+
+    /**
+     * Whether the titles of the deleted movies should stop being suggested, which is
+     * wrong when another movie keeps the same title.
+     */
+    protected boolean forgetsTitles() {
+        return true;
+    }
+
+    private void run() {
+        log.info("Starting {}{}", name, dryRun ? " (dry run)" : "");
+        long start = System.nanoTime();
+        long lastProgress = start;
+        try {
+            beforeRun();
+            do {
+                SearchCommands.ScanReply reply = SearchCommands.scan(redisTemplate, cursor, KEY_PREFIX + "*", sliceSize);
+                List<String> matches = reply.keys().isEmpty() ? List.of() : match(reply.keys());
+                if (!dryRun && !matches.isEmpty()) {
+                    if (forgetsTitles()) {
+                        removeSuggestions(matches);
+                    }
+                    unlink(matches);
+                    deleted += matches.size();
+                }
+                matched += matches.size();
+                scanned += reply.keys().size();
+                cursor = reply.cursor();
+
+                long now = System.nanoTime();
+                elapsedNanos = now - start;
+                if (now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                    lastProgress = now;
+                    log.info("{}: scanned {}, matched {}, deleted {}", name, scanned, matched, deleted);
+                }
+                pace(start);
+            } while (!"0".equals(cursor) && !stopping);
+
+            state = "0".equals(cursor) ? JobState.COMPLETED : JobState.STOPPED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = JobState.STOPPED;
+        } catch (Exception ex) {
+            state = JobState.FAILED;
+            error = ex.getMessage();
+            log.error("{} failed: {}", name, ex.getMessage(), ex);
+        } finally {
+            try {
+                afterRun();
+            } catch (Exception ex) {
+                log.warn("Cleaning up after {} failed: {}", name, ex.getMessage(), ex);
+            }
+            elapsedNanos = System.nanoTime() - start;
+            finishedAt = Instant.now();
+        }
+        log.info("{} {}{} in {} ms: scanned {}, matched {}, deleted {}", name, state.name().toLowerCase(),
+                dryRun ? " (dry run)" : "", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), scanned, matched, deleted);
+    }
+
+    /**
+     * Sleeps until the keys scanned so far fit within the rate limit, if there is one.
+     */
+    private void pace(long start) throws InterruptedException {
+        if (keysPerSecond <= 0) {
+            return;
+        }
+        long due = start + scanned * 1_000_000_000L / keysPerSecond;
+        long ahead = due - System.nanoTime();
+        if (ahead > 0) {
+            TimeUnit.NANOSECONDS.sleep(ahead);
+        }
+    }
+
+    /**
+     * Suggestions are best effort: failing to remove them must not stop the job.
+     */
+    private void removeSuggestions(List<String> keys) {
+        try {
+            movieSuggestions.removeTitles(keys);
+        } catch (Exception ex) {
+            log.warn("{}: could not remove the suggestions of {} movies: {}", name, keys.size(), ex.getMessage());
+        }
+    }
+
+    private void unlink(List<String> keys) {
+        redisTemplate.execute((RedisConnection connection) -> {
+            byte[][] rawKeys = new byte[keys.size()][];
+            for (int i = 0; i < keys.size(); i++) {
+                rawKeys[i] = keys.get(i).getBytes(StandardCharsets.UTF_8);
+            }
+            return connection.keyCommands().unlink(rawKeys);
+        });
+    }
+}
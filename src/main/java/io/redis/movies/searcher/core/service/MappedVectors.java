@@ -0,0 +1,131 @@
+package io.redis.movies.searcher.core.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size slots of L2-normalized float vectors, indexed by movie id, in a
+ * memory-mapped temporary file.
+ *
+ * The file is deleted as soon as it is mapped, so the vectors live in the page
+ * cache, off the heap, and go away with the process. Normalized vectors make the
+ * cosine similarity a plain {@link DotProduct}. Slots are meant to be written by one
+ * thread and read by any; a read racing a write of the same slot may see parts of
+ * both vectors.
+ */
+final class MappedVectors {
+
+    private final int capacity;
+    private final int dimension;
+    private final FloatBuffer slots;
+    private final AtomicLongArray present;
+    private final AtomicInteger size = new AtomicInteger();
+
+    MappedVectors(int capacity, int dimension) throws IOException {
+        long bytes = (long) capacity * dimension * Float.BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cannot map " + capacity + " vectors of " + dimension
+                    + " dimensions, the mapping would exceed 2 GB");
+        }
+        this.capacity = capacity;
+        this.dimension = dimension;
+        this.present = new AtomicLongArray((capacity + 63) / 64);
+
+        Path file = Files.createTempFile("plot-embeddings-", ".f32");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.slots = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes)
+                    .order(ByteOrder.nativeOrder())
+                    .asFloatBuffer();
+        } finally {
+            // The mapping outlives the file on POSIX systems; elsewhere it goes on exit
+            File mapped = file.toFile();
+            if (!mapped.delete()) {
+                mapped.deleteOnExit();
+            }
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    boolean contains(int id) {
+        return id >= 0 && id < capacity && (present.get(id >>> 6) & (1L << id)) != 0;
+    }
+
+    /**
+     * Stores the vector, normalized, under the id. Returns false when the id does not
+     * fit or the vector cannot be normalized.
+     */
+    boolean put(int id, float[] vector) {
+        if (id < 0 || id >= capacity || vector.length != dimension) {
+            return false;
+        }
+        float[] normalized = normalize(vector);
+        if (normalized == null) {
+            remove(id);
+            return false;
+        }
+        slots.put(id * dimension, normalized);
+        if ((present.getAndUpdate(id >>> 6, bits -> bits | (1L << id)) & (1L << id)) == 0) {
+            size.incrementAndGet();
+        }
+        return true;
+    }
+
+    void remove(int id) {
+        if (id < 0 || id >= capacity) {
+            return;
+        }
+        if ((present.getAndUpdate(id >>> 6, bits -> bits & ~(1L << id)) & (1L << id)) != 0) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Cosine similarity between the query and the vector stored under each id, NaN
+     * where there is none. Each stored vector is copied into one scratch array, so a
+     * call allocates the same whatever the number of ids.
+     */
+    float[] cosine(float[] query, int[] ids) {
+        float[] scores = new float[ids.length];
+        float[] normalizedQuery = normalize(query);
+        float[] scratch = new float[dimension];
+        for (int i = 0; i < ids.length; i++) {
+            if (normalizedQuery == null || !contains(ids[i])) {
+                scores[i] = Float.NaN;
+                continue;
+            }
+            slots.get(ids[i] * dimension, scratch);
+            scores[i] = DotProduct.dot(normalizedQuery, scratch);
+        }
+        return scores;
+    }
+
+    /**
+     * Returns a unit-length copy of the vector, or null for a zero vector.
+     */
+    static float[] normalize(float[] vector) {
+        float norm = (float) Math.sqrt(DotProduct.dot(vector, vector));
+        if (norm == 0f || Float.isNaN(norm)) {
+            return null;
+        }
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] / norm;
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,102 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.SearcherProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the query embedding model, {@code movie_index} and {@code keyword_index}
+ * before the application reports itself ready.
+ *
+ * The sentence model behind {@code @Vectorize} loads and compiles lazily, so without
+ * this the first searches after a deploy pay for it. Once the application is ready,
+ * and before its readiness state moves to accepting traffic, one caller per
+ * {@link InferenceExecutor} thread embeds a few sample queries, and every vector is
+ * searched with a KNN query on both indexes along with a full-text query on
+ * {@code movie_index}. Nothing is written to Redis or to the caches. Runs before the
+ * embedding backfill starts; a failure is logged and does not stop startup.
+ */
+@Component
+public class ModelWarmUp {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelWarmUp.class);
+    private static final List<String> SAMPLE_QUERIES = List.of(
+            "back to the future",
+            "a teacher who starts a rock band with his students",
+            "astronauts stranded on a hostile planet");
+
+    private final KeywordService keywordService;
+    private final InferenceExecutor inferenceExecutor;
+    private final StringRedisTemplate redisTemplate;
+    private final SearcherProperties.Inference settings;
+
+    public ModelWarmUp(KeywordService keywordService, InferenceExecutor inferenceExecutor,
+                       StringRedisTemplate redisTemplate, SearcherProperties properties) {
+        this.keywordService = keywordService;
+        this.inferenceExecutor = inferenceExecutor;
+        this.redisTemplate = redisTemplate;
+        this.settings = properties.inference();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void warmUp() throws InterruptedException {
+        if (!settings.warmUp()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int callers = inferenceExecutor.threads();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> rounds = new ArrayList<>(callers);
+            for (int caller = 0; caller < callers; caller++) {
+                int first = caller;
+                rounds.add(executor.submit(() -> {
+                    for (int round = 0; round < settings.warmUpRounds(); round++) {
+                        String query = SAMPLE_QUERIES.get((first + round) % SAMPLE_QUERIES.size());
+                        searchIndexes(query, keywordService.embed(query));
+                    }
+                }));
+            }
+            for (Future<?> round : rounds) {
+                round.get();
+            }
+        } catch (ExecutionException ex) {
+            log.warn("Warm-up failed, the first searches may be slow: {}", ex.getCause().getMessage(), ex.getCause());
+            return;
+        }
+        log.info("Warmed up the embedding model on {} inference threads and both indexes in {} ms",
+                callers, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void searchIndexes(String query, byte[] queryAsVector) {
+        SearchCommands.execute(redisTemplate, "FT.SEARCH", bytes("movie_index"),
+                bytes("@title:(" + query + ")"), bytes("NOCONTENT"), bytes("LIMIT"), bytes("0"), bytes("10"));
+        knn("movie_index", "@plotEmbedding", queryAsVector);
+        knn("keyword_index", "@embedding", queryAsVector);
+    }
+
+    private void knn(String index, String field, byte[] queryAsVector) {
+        SearchCommands.execute(redisTemplate, "FT.SEARCH", bytes(index),
+                bytes("*=>[KNN 10 " + field + " $BLOB]"), bytes("PARAMS"), bytes("2"), bytes("BLOB"), queryAsVector,
+                bytes("NOCONTENT"), bytes("DIALECT"), bytes("2"));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
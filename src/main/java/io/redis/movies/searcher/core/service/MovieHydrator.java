@@ -0,0 +1,217 @@
+package io.redis.movies.searcher.core.service;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.redis.movies.searcher.core.dto.MovieDTO;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads the fields needed for a {@link MovieDTO} for many movie keys at once.
+ *
+ * All keys are fetched with HMGET in a single pipeline, so hydrating a result page
+ * costs one round trip regardless of its size. Only the displayed fields are read;
+ * {@code plotEmbedding} never leaves Redis. With the near cache enabled, only the
+ * keys it does not hold are fetched, and a fully cached page costs no round trip.
+ * {@link #hydrateAsync(List)} does the same over async commands without blocking, and
+ * {@link #hydrateAll(List)} loads the result pages of many searches in one pipeline.
+ */
+@Component
+public class MovieHydrator {
+
+    private static final byte[][] FIELDS = {
+            "title".getBytes(StandardCharsets.UTF_8),
+            "year".getBytes(StandardCharsets.UTF_8),
+            "plot".getBytes(StandardCharsets.UTF_8),
+            "rating".getBytes(StandardCharsets.UTF_8),
+            "actors".getBytes(StandardCharsets.UTF_8)
+    };
+    private static final String[] NO_ACTORS = new String[0];
+
+    private final StringRedisTemplate redisTemplate;
+    private final MovieNearCache nearCache;
+    private final StatefulRedisConnection<byte[], byte[]> asyncRedisConnection;
+
+    public MovieHydrator(StringRedisTemplate redisTemplate, MovieNearCache nearCache,
+                         StatefulRedisConnection<byte[], byte[]> asyncRedisConnection) {
+        this.redisTemplate = redisTemplate;
+        this.nearCache = nearCache;
+        this.asyncRedisConnection = asyncRedisConnection;
+    }
+
+    /**
+     * Returns one DTO per key that still exists, in the order of the keys given.
+     */
+    public List<MovieDTO> hydrate(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        if (!nearCache.isEnabled()) {
+            return new ArrayList<>(load(keys).values());
+        }
+
+        MovieNearCache.Lookup cached = nearCache.getAll(keys);
+        Map<String, MovieDTO> loaded = Map.of();
+        if (cached.found().size() < keys.size()) {
+            loaded = load(missing(keys, cached));
+            nearCache.putAll(loaded, cached.stamp());
+        }
+        return merge(keys, cached.found(), loaded);
+    }
+
+    /**
+     * Hydrates several result pages at once, each movie loaded once however many pages
+     * it appears in. Returns one list per page, in the order of the pages given.
+     */
+    public List<List<MovieDTO>> hydrateAll(List<List<String>> pages) {
+        List<String> keys = pages.stream().flatMap(List::stream).distinct().toList();
+        if (keys.isEmpty()) {
+            return pages.stream().map(page -> List.<MovieDTO>of()).toList();
+        }
+
+        Map<String, MovieDTO> cached = Map.of();
+        Map<String, MovieDTO> loaded;
+        if (!nearCache.isEnabled()) {
+            loaded = load(keys);
+        } else {
+            MovieNearCache.Lookup lookup = nearCache.getAll(keys);
+            cached = lookup.found();
+            loaded = Map.of();
+            if (cached.size() < keys.size()) {
+                loaded = load(missing(keys, lookup));
+                nearCache.putAll(loaded, lookup.stamp());
+            }
+        }
+
+        List<List<MovieDTO>> movies = new ArrayList<>(pages.size());
+        for (List<String> page : pages) {
+            movies.add(merge(page, cached, loaded));
+        }
+        return movies;
+    }
+
+    /**
+     * Same as {@link #hydrate(List)}, with one async HMGET per key instead of a blocking
+     * pipeline. Lettuce writes the HMGETs back to back, so they still share a round trip.
+     */
+    public CompletableFuture<List<MovieDTO>> hydrateAsync(List<String> keys) {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        if (!nearCache.isEnabled()) {
+            return loadAsync(keys).thenApply(loaded -> new ArrayList<>(loaded.values()));
+        }
+
+        MovieNearCache.Lookup cached = nearCache.getAll(keys);
+        if (cached.found().size() == keys.size()) {
+            return CompletableFuture.completedFuture(merge(keys, cached.found(), Map.of()));
+        }
+        return loadAsync(missing(keys, cached)).thenApply(loaded -> {
+            nearCache.putAll(loaded, cached.stamp());
+            return merge(keys, cached.found(), loaded);
+        });
+    }
+
+    private static List<String> missing(List<String> keys, MovieNearCache.Lookup cached) {
+        return keys.stream()
+                .filter(key -> !cached.found().containsKey(key))
+                .toList();
+    }
+
+    private static List<MovieDTO> merge(List<String> keys, Map<String, MovieDTO> cached, Map<String, MovieDTO> loaded) {
+        List<MovieDTO> movies = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            MovieDTO movie = cached.get(key);
+            if (movie == null) {
+                movie = loaded.get(key);
+            }
+            if (movie != null) {
+                movies.add(movie);
+            }
+        }
+        return movies;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, MovieDTO> load(List<String> keys) {
+        List<Object> replies = redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (String key : keys) {
+                connection.hashCommands().hMGet(key.getBytes(StandardCharsets.UTF_8), FIELDS);
+            }
+            return null;
+        });
+
+        Map<String, MovieDTO> movies = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            MovieDTO movie = toDTO(keys.get(i), (List<String>) replies.get(i));
+            if (movie != null) {
+                movies.put(keys.get(i), movie);
+            }
+        }
+        return movies;
+    }
+
+    private CompletableFuture<Map<String, MovieDTO>> loadAsync(List<String> keys) {
+        RedisAsyncCommands<byte[], byte[]> commands = asyncRedisConnection.async();
+        List<CompletableFuture<List<KeyValue<byte[], byte[]>>>> replies = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            replies.add(commands.hmget(key.getBytes(StandardCharsets.UTF_8), FIELDS).toCompletableFuture());
+        }
+        return CompletableFuture.allOf(replies.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            Map<String, MovieDTO> movies = new LinkedHashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                List<String> values = new ArrayList<>(FIELDS.length);
+                for (KeyValue<byte[], byte[]> field : replies.get(i).join()) {
+                    values.add(field.hasValue() ? new String(field.getValue(), StandardCharsets.UTF_8) : null);
+                }
+                MovieDTO movie = toDTO(keys.get(i), values);
+                if (movie != null) {
+                    movies.put(keys.get(i), movie);
+                }
+            }
+            return movies;
+        });
+    }
+
+    /**
+     * Builds a DTO from HMGET values in {@link #FIELDS} order, or null if the hash is gone.
+     */
+    static MovieDTO toDTO(String key, List<String> values) {
+        if (values == null || values.get(0) == null) {
+            return null;
+        }
+        String actors = values.get(4);
+        return new MovieDTO(
+                idOf(key),
+                values.get(0),
+                parseInt(values.get(1)),
+                values.get(2),
+                parseDouble(values.get(3)),
+                (actors == null || actors.isEmpty()) ? NO_ACTORS : actors.split("\\|")
+        );
+    }
+
+    /**
+     * Extracts the numeric id from a {@code movie:<id>} key.
+     */
+    static int idOf(String key) {
+        return Integer.parseInt(key, key.indexOf(':') + 1, key.length(), 10);
+    }
+
+    private static int parseInt(String value) {
+        return (value == null || value.isEmpty()) ? 0 : Integer.parseInt(value);
+    }
+
+    private static double parseDouble(String value) {
+        return (value == null || value.isEmpty()) ? 0.0 : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,229 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.SearcherProperties;
+import io.redis.movies.searcher.core.domain.Movie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Loads a movies JSON catalog into Redis in a single pass.
+ *
+ * The file is read with a streaming parser, one array element at a time, and each
+ * element is mapped to a {@link Movie}. Movies without a plot are dropped, and so is
+ * every movie whose title was already imported: titles are claimed with pipelined
+ * SADDs on a temporary set, so the JVM holds no per-title state. What is left goes
+ * through an {@link EmbeddingPipeline} and each movie is written once, plot
+ * embedding included, with pipelined HSETs, along with its title and actors in
+ * {@link MovieSuggestions}.
+ *
+ * Ids are the 1-based position of the movie in the file, so importing the same file
+ * again overwrites the same keys. Memory use depends on the page size and the
+ * pipeline queues, not on the size of the catalog.
+ */
+@Component
+public class MovieImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieImporter.class);
+    private static final String KEY_PREFIX = "movie:";
+    private static final String TITLES_KEY = "import:movie-titles";
+    private static final String PLOT_EMBEDDING_FIELD = "plotEmbedding";
+
+    /**
+     * What the import read, dropped and stored.
+     */
+    public record Report(long parsed, long plotless, long duplicates, long written, long failed, Duration elapsed) {
+
+        public double rowsPerSecond() {
+            double seconds = elapsed.toNanos() / 1_000_000_000.0;
+            return seconds == 0 ? 0.0 : parsed / seconds;
+        }
+    }
+
+    private final MovieService movieService;
+    private final MovieSuggestions movieSuggestions;
+    private final StringRedisTemplate redisTemplate;
+    private final JsonMapper jsonMapper;
+    private final int pageSize;
+
+    private long parsed;
+    private long plotless;
+    private long duplicates;
+
+    public MovieImporter(MovieService movieService, MovieSuggestions movieSuggestions,
+                         StringRedisTemplate redisTemplate, JsonMapper jsonMapper, SearcherProperties properties) {
+        this.movieService = movieService;
+        this.movieSuggestions = movieSuggestions;
+        this.redisTemplate = redisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.pageSize = properties.importer().pageSize();
+    }
+
+    public synchronized Report importMovies(Path file) throws IOException, InterruptedException {
+        log.info("Importing movies from {}", file);
+        long start = System.nanoTime();
+        parsed = 0;
+        plotless = 0;
+        duplicates = 0;
+
+        redisTemplate.delete(TITLES_KEY);
+        EmbeddingPipeline.Report pipelineReport;
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            EmbeddingPipeline pipeline = movieService.newEmbeddingPipeline("movie-import", this::writeMovies, keys -> {});
+            pipelineReport = pipeline.run(sink -> readMovies(input, sink));
+        } finally {
+            redisTemplate.delete(TITLES_KEY);
+        }
+
+        Report report = new Report(parsed, plotless, duplicates, pipelineReport.written(), pipelineReport.failed(),
+                Duration.ofNanos(System.nanoTime() - start));
+        log.info("Imported {} of {} movies from {} in {} ms ({} rows/s): {} without plot, {} duplicate titles, {} failed",
+                report.written(), report.parsed(), file, report.elapsed().toMillis(),
+                String.format("%.1f", report.rowsPerSecond()), report.plotless(), report.duplicates(), report.failed());
+        return report;
+    }
+
+    /**
+     * Streams the top-level array, handing pages of kept movies to the pipeline.
+     * Runs on the pipeline's read thread.
+     */
+    private void readMovies(InputStream input, Consumer<List<EmbeddingPipeline.Item>> sink) {
+        try (JsonParser parser = jsonMapper.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of movies");
+            }
+            List<Movie> page = new ArrayList<>(pageSize);
+            int position = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                Movie movie = toMovie(++position, parser.readValueAsTree());
+                parsed++;
+                if (movie.getPlot() == null || movie.getPlot().isBlank()) {
+                    plotless++;
+                    continue;
+                }
+                page.add(movie);
+                if (page.size() == pageSize) {
+                    sink.accept(toItems(claimTitles(page)));
+                    page.clear();
+                }
+            }
+            if (!page.isEmpty()) {
+                sink.accept(toItems(claimTitles(page)));
+            }
+        }
+    }
+
+    private static Movie toMovie(int id, JsonNode node) {
+        JsonNode info = node.path("info");
+        List<String> actors = new ArrayList<>();
+        for (JsonNode actor : info.path("actors").values()) {
+            actors.add(actor.stringValue(""));
+        }
+        return new Movie(id,
+                node.path("title").stringValue(null),
+                node.path("year").asInt(0),
+                info.path("plot").stringValue(null),
+                info.path("release_date").stringValue(null),
+                info.path("rating").asDouble(0.0),
+                actors);
+    }
+
+    /**
+     * Keeps the movies whose title no earlier movie of the file has claimed. Movies
+     * without a title have nothing to claim and are always kept.
+     */
+    private List<Movie> claimTitles(List<Movie> movies) {
+        List<Movie> titled = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            if (movie.getTitle() != null) {
+                titled.add(movie);
+            }
+        }
+        List<Object> added = titled.isEmpty() ? List.of() : redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (Movie movie : titled) {
+                connection.setCommands().sAdd(bytes(TITLES_KEY), bytes(movie.getTitle()));
+            }
+            return null;
+        });
+        List<Movie> kept = new ArrayList<>(movies.size());
+        int claim = 0;
+        for (Movie movie : movies) {
+            if (movie.getTitle() == null || (Long) added.get(claim++) == 1L) {
+                kept.add(movie);
+            } else {
+                duplicates++;
+            }
+        }
+        return kept;
+    }
+
+    private static List<EmbeddingPipeline.Item> toItems(List<Movie> movies) {
+        List<EmbeddingPipeline.Item> items = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            items.add(new EmbeddingPipeline.Item(KEY_PREFIX + movie.getId(), movie.getPlot(), toHash(movie)));
+        }
+        return items;
+    }
+
+    /**
+     * Same hash layout as the Redis OM mapping of {@link Movie}, actors joined with '|'.
+     */
+    private static Map<String, String> toHash(Movie movie) {
+        Map<String, String> hash = new LinkedHashMap<>();
+        hash.put("id", Integer.toString(movie.getId()));
+        if (movie.getTitle() != null) {
+            hash.put("title", movie.getTitle());
+        }
+        if (movie.getYear() != 0) {
+            hash.put("year", Integer.toString(movie.getYear()));
+        }
+        hash.put("plot", movie.getPlot());
+        if (movie.getReleaseDate() != null) {
+            hash.put("releaseDate", movie.getReleaseDate());
+        }
+        if (movie.getRating() != 0.0) {
+            hash.put("rating", Double.toString(movie.getRating()));
+        }
+        if (!movie.getActors().isEmpty()) {
+            hash.put("actors", String.join("|", movie.getActors()));
+        }
+        return hash;
+    }
+
+    private void writeMovies(EmbeddingPipeline.Batch batch) {
+        redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (int i = 0; i < batch.keys().size(); i++) {
+                Map<byte[], byte[]> hash = new HashMap<>();
+                batch.fields().get(i).forEach((field, value) -> hash.put(bytes(field), bytes(value)));
+                hash.put(bytes(PLOT_EMBEDDING_FIELD), batch.vectors().get(i));
+                connection.hashCommands().hMSet(bytes(batch.keys().get(i)), hash);
+                movieSuggestions.add(connection, batch.fields().get(i));
+            }
+            return null;
+        });
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
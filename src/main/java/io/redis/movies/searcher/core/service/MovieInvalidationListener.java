@@ -0,0 +1,96 @@
+package io.redis.movies.searcher.core.service;
+
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers changes to {@code movie:*} hashes using RESP3 client-side tracking.
+ *
+ * A dedicated connection enables tracking in broadcasting mode for the movie
+ * prefix, so Redis pushes an invalidation whenever any movie hash is written,
+ * deleted or expires, whoever the writer is. Listeners receive the changed keys,
+ * or null when they must drop everything: on FLUSHALL, and after a reconnect,
+ * because invalidations sent while disconnected are lost.
+ */
+@Component
+public class MovieInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieInvalidationListener.class);
+    private static final String KEY_PREFIX = "movie:";
+
+    private final StatefulRedisConnection<String, String> connection;
+    private final List<Consumer<List<String>>> listeners = new CopyOnWriteArrayList<>();
+
+    public MovieInvalidationListener(RedisClient resp3RedisClient) {
+        this.connection = resp3RedisClient.connect();
+        this.connection.addListener(this::onPushMessage);
+        this.connection.addListener(new RedisConnectionStateListener() {
+            @Override
+            public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress address) {
+                // Tracking state does not survive a reconnect, and whatever changed meanwhile was missed
+                enableTracking();
+                notifyListeners(null);
+            }
+        });
+        this.connection.sync().clientTracking(trackingArgs());
+        log.info("Tracking changes to {}* hashes", KEY_PREFIX);
+    }
+
+    /**
+     * Registers a listener for changed movie keys; a null list means everything changed.
+     */
+    public void addListener(Consumer<List<String>> listener) {
+        listeners.add(listener);
+    }
+
+    @PreDestroy
+    void close() {
+        connection.close();
+    }
+
+    private void enableTracking() {
+        connection.async().clientTracking(trackingArgs())
+                .exceptionally(ex -> {
+                    log.error("Could not re-enable client tracking: {}", ex.getMessage(), ex);
+                    return null;
+                });
+    }
+
+    private static TrackingArgs trackingArgs() {
+        return TrackingArgs.Builder.enabled().bcast().prefixes(KEY_PREFIX);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        notifyListeners(keys instanceof List<?> list ? (List<String>) list : null);
+    }
+
+    private void notifyListeners(List<String> keys) {
+        for (Consumer<List<String>> listener : listeners) {
+            try {
+                listener.accept(keys);
+            } catch (Exception ex) {
+                log.error("Invalidation listener failed: {}", ex.getMessage(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.redis.movies.searcher.core.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.redis.movies.searcher.SearcherProperties;
+import io.redis.movies.searcher.core.dto.MovieDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opt-in near cache of hydrated movies, kept consistent by server-assisted
+ * client-side caching.
+ *
+ * Only the displayed fields are held, never the plot embedding. Entries are
+ * dropped when {@link MovieInvalidationListener} reports a change to their hash,
+ * and a batch read from Redis is not cached if any invalidation arrived while it
+ * was in flight, since it may predate the change.
+ */
+@Component
+public class MovieNearCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final LinkedHashMap<String, MovieDTO> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private long invalidations;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public MovieNearCache(SearcherProperties properties, MovieInvalidationListener invalidationListener,
+                          MeterRegistry meterRegistry) {
+        this.enabled = properties.nearCache().enabled();
+        this.maxEntries = properties.nearCache().maxEntries();
+
+        this.hits = meterRegistry.counter("search.movie.near-cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("search.movie.near-cache.requests", "result", "miss");
+        Gauge.builder("search.movie.near-cache.size", this, MovieNearCache::size)
+                .register(meterRegistry);
+
+        if (enabled) {
+            invalidationListener.addListener(this::invalidate);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached movies among the keys, along with a stamp to pass to
+     * {@link #putAll(Map, long)} for the ones loaded from Redis.
+     */
+    public Lookup getAll(List<String> keys) {
+        Map<String, MovieDTO> found = new HashMap<>();
+        long stamp;
+        synchronized (entries) {
+            for (String key : keys) {
+                MovieDTO movie = entries.get(key);
+                if (movie != null) {
+                    found.put(key, movie);
+                }
+            }
+            stamp = invalidations;
+        }
+        hits.increment(found.size());
+        misses.increment(keys.size() - found.size());
+        return new Lookup(found, stamp);
+    }
+
+    public void putAll(Map<String, MovieDTO> movies, long stamp) {
+        synchronized (entries) {
+            if (stamp != invalidations) {
+                return;
+            }
+            entries.putAll(movies);
+            var eldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            invalidations++;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void invalidate(List<String> keys) {
+        synchronized (entries) {
+            invalidations++;
+            if (keys == null) {
+                entries.clear();
+            } else {
+                keys.forEach(entries::remove);
+            }
+        }
+    }
+
+    public record Lookup(Map<String, MovieDTO> found, long stamp) {}
+}
@@ -1,108 +1,176 @@
 package io.redis.movies.searcher.core.service;
 
+import com.redis.om.spring.vectorize.Embedder;
+import io.redis.movies.searcher.SearcherProperties;
 import io.redis.movies.searcher.core.domain.Movie;
-import io.redis.movies.searcher.core.repository.MovieRepository;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.Cursor;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ScanOptions;
+import io.redis.movies.searcher.core.domain.VectorDataType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.time.Instant;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicInteger;
-
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Computes the plot embeddings of movies that do not have one yet.
+ *
+ * Candidates are found server-side, one SCAN page at a time, and fed through an
+ * {@link EmbeddingPipeline}: the plots are read with pipelined HGETs, embedded in
+ * batches of {@code redis.om.spring.ai.embedding-batch-size} by one inference thread
+ * per core, encoded in the index's data type, and written with pipelined HSETs.
+ * {@link EmbeddingBackfill} drives the scan in the background and checkpoints its cursor.
+ */
 @Service
 public class MovieService {
 
-    private static final Logger log = LoggerFactory.getLogger(MovieService.class);
     private static final String KEY_PREFIX = "movie:";
+    private static final byte[] PLOT_FIELD = "plot".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PLOT_EMBEDDING_FIELD = "plotEmbedding".getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Embedder embedder;
+    private final Field plotField;
+    private final VectorDataType vectorDataType;
+    private final SearcherProperties.Backfill backfill;
+    private final int embeddingBatchSize;
+
+    public MovieService(StringRedisTemplate redisTemplate, Embedder embedder,
+                        SearcherProperties properties,
+                        @Value("${redis.om.spring.ai.embedding-batch-size:2048}") int embeddingBatchSize) {
+        this.redisTemplate = redisTemplate;
+        this.embedder = embedder;
+        this.vectorDataType = properties.vectorIndex().dataType();
+        this.backfill = properties.backfill();
+        this.embeddingBatchSize = embeddingBatchSize;
+        try {
+            this.plotField = Movie.class.getDeclaredField("plot");
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Movie has no plot field", e);
+        }
+    }
 
-    private final MovieRepository movieRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    /**
+     * One SCAN page: the cursor Redis returned with it, the movie keys it held, and
+     * which of them have a plot but no embedding.
+     */
+    record ScanPage(String cursor, List<String> keys, List<String> missing) {
 
-    public MovieService(MovieRepository movieRepository, RedisTemplate<String, Object> redisTemplate) {
-        this.movieRepository = movieRepository;
-        this.redisTemplate = redisTemplate;
+        int scanned() {
+            return keys.size();
+        }
+    }
+
+    /**
+     * Builds the pipeline that embeds and stores plots; {@code settled} receives the
+     * keys of every batch once it is written.
+     */
+    EmbeddingPipeline newEmbeddingPipeline(Consumer<List<String>> settled) {
+        return newEmbeddingPipeline("plot-embeddings", this::writeEmbeddings, settled);
+    }
+
+    /**
+     * Builds a pipeline that embeds plots like the backfill does, but stores them with {@code write}.
+     */
+    EmbeddingPipeline newEmbeddingPipeline(String name, Consumer<EmbeddingPipeline.Batch> write,
+                                           Consumer<List<String>> settled) {
+        int inferenceThreads = backfill.inferenceThreads() > 0
+                ? backfill.inferenceThreads()
+                : Runtime.getRuntime().availableProcessors();
+        return new EmbeddingPipeline(name, embeddingBatchSize,
+                inferenceThreads, backfill.queueBatches(), this::embedPlots, write, settled);
+    }
+
+    /**
+     * Walks {@code movie:*} one SCAN page at a time from {@code cursor} and, for each page,
+     * asks Redis in a single pipeline for the length of {@code plot} and {@code plotEmbedding}.
+     * Every page is handed to {@code pageConsumer}, even when none of its movies is missing
+     * an embedding, so the caller sees each cursor. Stops early once {@code cancelled} is true.
+     *
+     * @return the cursor to continue from, {@code "0"} once the whole keyspace was scanned
+     */
+    String scanMissingEmbeddings(String cursor, BooleanSupplier cancelled, Consumer<ScanPage> pageConsumer) {
+        String next = cursor;
+        do {
+            SearchCommands.ScanReply reply = SearchCommands.scan(redisTemplate, next, KEY_PREFIX + "*", backfill.scanPageSize());
+            next = reply.cursor();
+            List<String> keys = reply.keys();
+            pageConsumer.accept(new ScanPage(next, keys, keys.isEmpty() ? List.of() : filterMissingEmbeddings(keys)));
+        } while (!"0".equals(next) && !cancelled.getAsBoolean());
+        return next;
     }
 
-    public void regenerateMissingEmbeddings() {
-        log.info("Scanning for movies with missing embeddings...");
-        var startTime = Instant.now();
-
-        // Scan for all movie keys using SCAN command
-        List<Integer> movieIds = new ArrayList<>();
-        ScanOptions scanOptions = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
-        try (Cursor<String> cursor = redisTemplate.scan(scanOptions)) {
-            while (cursor.hasNext()) {
-                String key = cursor.next();
-                String idStr = key.substring(KEY_PREFIX.length());
-                try {
-                    movieIds.add(Integer.parseInt(idStr));
-                } catch (NumberFormatException e) {
-                    log.warn("Skipping invalid key: {}", key);
-                }
+    private List<String> filterMissingEmbeddings(List<String> keys) {
+        List<Object> lengths = redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (String key : keys) {
+                byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                connection.hashCommands().hStrLen(rawKey, PLOT_FIELD);
+                connection.hashCommands().hStrLen(rawKey, PLOT_EMBEDDING_FIELD);
             }
+            return null;
+        });
+
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            long plotLength = (Long) lengths.get(2 * i);
+            long embeddingLength = (Long) lengths.get(2 * i + 1);
+            if (plotLength > 0 && embeddingLength == 0) {
+                missing.add(keys.get(i));
+            }
+        }
+        return missing;
+    }
+
+    List<EmbeddingPipeline.Item> readPlots(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
         }
-        log.info("Found {} movie keys in Redis", movieIds.size());
-
-        // Find movies missing embeddings and with a plot value
-        List<Movie> moviesWithoutEmbeddings = new ArrayList<>();
-        for (Integer id : movieIds) {
-            movieRepository.findById(id).ifPresent(movie -> {
-                if (movie.getPlot() != null && !movie.getPlot().isBlank() && movie.getPlotEmbedding() == null) {
-                    moviesWithoutEmbeddings.add(movie);
-                }
-            });
+        List<Object> plots = redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (String key : keys) {
+                connection.hashCommands().hGet(key.getBytes(StandardCharsets.UTF_8), PLOT_FIELD);
+            }
+            return null;
+        });
+
+        List<EmbeddingPipeline.Item> items = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            String plot = toText(plots.get(i));
+            if (plot != null && !plot.isBlank()) {
+                items.add(new EmbeddingPipeline.Item(keys.get(i), plot));
+            }
         }
+        return items;
+    }
 
-        log.info("Found {} movies without embeddings.", moviesWithoutEmbeddings.size());
-        if (moviesWithoutEmbeddings.isEmpty()) {
-            return;
+    private List<byte[]> embedPlots(List<String> plots) {
+        List<byte[]> vectors = embedder.getTextEmbeddingsAsBytes(plots, plotField);
+        if (vectorDataType == VectorDataType.FLOAT32) {
+            return vectors;
+        }
+        List<byte[]> encoded = new ArrayList<>(vectors.size());
+        for (byte[] vector : vectors) {
+            encoded.add(VectorCodec.convert(vector, VectorDataType.FLOAT32, vectorDataType));
         }
+        return encoded;
+    }
 
-        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
-            final int batchSize = 500;
-            List<CompletableFuture<Void>> futures = new ArrayList<>();
-            AtomicInteger savedCounter = new AtomicInteger(0);
-
-            for (int i = 0; i < moviesWithoutEmbeddings.size(); i += batchSize) {
-                int end = Math.min(i + batchSize, moviesWithoutEmbeddings.size());
-                List<Movie> batch = moviesWithoutEmbeddings.subList(i, end);
-
-                CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
-                    try {
-                        movieRepository.saveAll(batch);
-                        int totalSaved = savedCounter.addAndGet(batch.size());
-                        int previousMilestone = (totalSaved - batch.size()) / 1000;
-                        int currentMilestone = totalSaved / 1000;
-                        if (currentMilestone > previousMilestone || totalSaved == moviesWithoutEmbeddings.size()) {
-                            double percentComplete = (totalSaved * 100.0) / moviesWithoutEmbeddings.size();
-                            log.info("Regenerated embeddings for {}/{} movies ({}%)",
-                                    totalSaved, moviesWithoutEmbeddings.size(),
-                                    String.format("%.1f", percentComplete));
-                        }
-                    } catch (Exception ex) {
-                        log.error("Error saving batch: {}", ex.getMessage(), ex);
-                    }
-                }, executor);
-
-                futures.add(future);
+    private void writeEmbeddings(EmbeddingPipeline.Batch batch) {
+        redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (int i = 0; i < batch.keys().size(); i++) {
+                connection.hashCommands().hSet(batch.keys().get(i).getBytes(StandardCharsets.UTF_8),
+                        PLOT_EMBEDDING_FIELD, batch.vectors().get(i));
             }
+            return null;
+        });
+    }
 
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    private static String toText(Object value) {
+        if (value instanceof byte[] raw) {
+            return new String(raw, StandardCharsets.UTF_8);
         }
-
-        var duration = Duration.between(startTime, Instant.now());
-        double seconds = duration.toMillis() / 1000.0;
-        log.info("Embedding regeneration complete: {} movies processed in {} seconds",
-                moviesWithoutEmbeddings.size(),
-                String.format("%.2f", seconds));
+        return value == null ? null : value.toString();
     }
 }
@@ -0,0 +1,199 @@
+package io.redis.movies.searcher.core.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.redis.movies.searcher.core.dto.Suggestions;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Type-ahead dictionary of movie titles and actor names, held in two FT.SUGADD
+ * dictionaries, {@code suggest:titles} and {@code suggest:actors}.
+ *
+ * A lookup is one pipeline of two FT.SUGGET prefix queries, a trie walk in Redis,
+ * and never touches the embedding model. Titles are scored by rating so the better
+ * rated movies come first, and every actor has the same score. Adding a movie again
+ * sets the same scores rather than incrementing them. {@link MovieImporter} adds the
+ * movies it writes; {@link EmbeddingBackfill} adds every movie once, on the first full
+ * scan after which {@code suggest:seeded} is set, and from then on only the movies it
+ * embeds. {@link PlotlessMovieCleanup} removes the titles of the movies it deletes;
+ * {@link DuplicateTitleCleanup} keeps them, since the surviving movie has the same
+ * title. Actors are never removed, since other movies may still have them.
+ */
+@Service
+public class MovieSuggestions {
+
+    static final String TITLES_KEY = "suggest:titles";
+    static final String ACTORS_KEY = "suggest:actors";
+    static final String SEEDED_KEY = "suggest:seeded";
+    private static final byte[] TITLES_KEY_BYTES = TITLES_KEY.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ACTORS_KEY_BYTES = ACTORS_KEY.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TITLE_FIELD = "title".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ACTOR_SCORE = "1".getBytes(StandardCharsets.UTF_8);
+    private static final byte[][] FIELDS = {
+            "title".getBytes(StandardCharsets.UTF_8),
+            "rating".getBytes(StandardCharsets.UTF_8),
+            "actors".getBytes(StandardCharsets.UTF_8)
+    };
+
+    private final StringRedisTemplate redisTemplate;
+    private final Timer lookups;
+
+    public MovieSuggestions(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.lookups = Timer.builder("search.suggest")
+                .description("Time spent looking up type-ahead suggestions")
+                .publishPercentiles(0.5, 0.95, 0.99, 0.999)
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns up to {@code max} titles and up to {@code max} actors starting with the
+     * prefix, or within one edit of it when {@code fuzzy} is set.
+     */
+    public Suggestions suggest(String prefix, int max, boolean fuzzy) {
+        String trimmed = prefix.trim();
+        if (trimmed.isEmpty() || max <= 0) {
+            return Suggestions.NONE;
+        }
+        return lookups.record(() -> {
+            List<String> args = new ArrayList<>(List.of(trimmed, "MAX", Integer.toString(max)));
+            if (fuzzy) {
+                args.add("FUZZY");
+            }
+            List<Object> replies = SearchCommands.executePipelined(redisTemplate, "FT.SUGGET",
+                    List.of(rawArgs(TITLES_KEY, args), rawArgs(ACTORS_KEY, args)));
+            return new Suggestions(toStrings(replies.get(0)), toStrings(replies.get(1)));
+        });
+    }
+
+    /**
+     * Queues the FT.SUGADDs of one movie, given as its hash fields, on the connection,
+     * typically one that is pipelining the writes of the movie itself.
+     */
+    void add(RedisConnection connection, Map<String, String> movie) {
+        add(connection, movie.get("title"), movie.get("rating"), movie.get("actors"));
+    }
+
+    /**
+     * Reads the title, rating and actors of the movies with pipelined HMGETs, and adds
+     * them with pipelined FT.SUGADDs.
+     */
+    @SuppressWarnings("unchecked")
+    void addMovies(List<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<Object> movies = redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (String key : keys) {
+                connection.hashCommands().hMGet(key.getBytes(StandardCharsets.UTF_8), FIELDS);
+            }
+            return null;
+        });
+        redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (Object movie : movies) {
+                List<String> fields = (List<String>) movie;
+                if (fields != null) {
+                    add(connection, fields.get(0), fields.get(1), fields.get(2));
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Whether every movie has been added once, see {@link #markSeeded()}.
+     */
+    boolean seeded() {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(SEEDED_KEY));
+    }
+
+    /**
+     * Records that a full scan added every movie, so later scans only add new ones.
+     */
+    void markSeeded() {
+        redisTemplate.opsForValue().set(SEEDED_KEY, Instant.now().toString());
+    }
+
+    /**
+     * Removes the titles of the movies with pipelined FT.SUGDELs, reading them with
+     * pipelined HGETs first. Call it before the movies are deleted.
+     */
+    void removeTitles(List<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<Object> titles = redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (String key : keys) {
+                connection.hashCommands().hGet(key.getBytes(StandardCharsets.UTF_8), TITLE_FIELD);
+            }
+            return null;
+        });
+        redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (Object title : titles) {
+                if (title != null && !title.toString().isBlank()) {
+                    connection.execute("FT.SUGDEL", TITLES_KEY_BYTES, bytes(title.toString()));
+                }
+            }
+            return null;
+        });
+    }
+
+    private static void add(RedisConnection connection, String title, String rating, String actors) {
+        if (title != null && !title.isBlank()) {
+            connection.execute("FT.SUGADD", TITLES_KEY_BYTES, bytes(title), bytes(Double.toString(titleScore(rating))));
+        }
+        if (actors != null && !actors.isEmpty()) {
+            for (String actor : actors.split("\\|")) {
+                if (!actor.isBlank()) {
+                    connection.execute("FT.SUGADD", ACTORS_KEY_BYTES, bytes(actor), ACTOR_SCORE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ratings go from 0 to 10; FT.SUGADD needs a positive score, so unrated movies get 1.
+     */
+    private static double titleScore(String rating) {
+        try {
+            return 1.0 + ((rating == null || rating.isEmpty()) ? 0.0 : Math.max(0.0, Double.parseDouble(rating)));
+        } catch (NumberFormatException e) {
+            return 1.0;
+        }
+    }
+
+    private static byte[][] rawArgs(String key, List<String> args) {
+        byte[][] raw = new byte[args.size() + 1][];
+        raw[0] = bytes(key);
+        for (int i = 0; i < args.size(); i++) {
+            raw[i + 1] = bytes(args.get(i));
+        }
+        return raw;
+    }
+
+    private static List<String> toStrings(Object reply) {
+        if (!(reply instanceof List<?> values)) {
+            return List.of();
+        }
+        List<String> strings = new ArrayList<>(values.size());
+        for (Object value : values) {
+            strings.add(SearchCommands.asString(value));
+        }
+        return strings;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
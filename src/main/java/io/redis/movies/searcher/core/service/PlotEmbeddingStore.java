@@ -0,0 +1,232 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.SearcherProperties;
+import io.redis.movies.searcher.core.domain.VectorDataType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Copy of every movie's {@code plotEmbedding}, off the heap in {@link MappedVectors},
+ * so search candidates can be scored against the query vector in the JVM.
+ *
+ * Re-ranking is opt-in per search, so nothing is mapped until the first search scores
+ * candidates. That search maps the file and starts filling it by scanning
+ * {@code movie:*}; from then on the store is kept current through
+ * {@link MovieInvalidationListener}: changed movies are read again, deleted ones
+ * dropped, and everything is reloaded when the listener reports it missed changes.
+ * All of that happens on one background thread. A candidate that is not in the store
+ * yet, or whose id is beyond {@code searcher.rerank.capacity}, is read from Redis
+ * when it is scored.
+ */
+@Component
+public class PlotEmbeddingStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PlotEmbeddingStore.class);
+    private static final String KEY_PREFIX = "movie:";
+    private static final byte[] PLOT_EMBEDDING_FIELD = "plotEmbedding".getBytes(StandardCharsets.UTF_8);
+    private static final int SCAN_PAGE_SIZE = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final VectorDataType dataType;
+    private final int capacity;
+    private volatile boolean enabled;
+    private volatile MappedVectors vectors;
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("plot-embedding-store").daemon(true).factory());
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+
+    public PlotEmbeddingStore(StringRedisTemplate redisTemplate, MovieInvalidationListener invalidationListener,
+                              SearcherProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.dataType = properties.vectorIndex().dataType();
+        this.enabled = properties.rerank().enabled();
+        this.capacity = properties.rerank().capacity();
+        if (enabled) {
+            invalidationListener.addListener(this::onChange);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loader.shutdownNow();
+    }
+
+    /**
+     * Number of movies in the store.
+     */
+    public int size() {
+        MappedVectors current = vectors;
+        return current == null ? 0 : current.size();
+    }
+
+    /**
+     * Cosine similarity between the query vector, encoded with the configured data type,
+     * and the plot of each movie. Movies missing from the store are read in one
+     * pipeline; movies without a plot embedding score NaN.
+     */
+    public float[] cosine(byte[] queryAsVector, int[] ids) {
+        MappedVectors vectors = vectors();
+        float[] query = VectorCodec.decode(queryAsVector, dataType);
+        float[] scores = vectors == null ? new float[ids.length] : vectors.cosine(query, ids);
+
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (vectors == null || Float.isNaN(scores[i])) {
+                missing.add(i);
+            }
+        }
+        if (missing.isEmpty()) {
+            return scores;
+        }
+
+        float[] normalizedQuery = MappedVectors.normalize(query);
+        List<String> keys = new ArrayList<>(missing.size());
+        for (int i : missing) {
+            keys.add(KEY_PREFIX + ids[i]);
+        }
+        List<float[]> loaded = read(keys);
+        for (int j = 0; j < missing.size(); j++) {
+            int i = missing.get(j);
+            float[] plot = loaded.get(j);
+            float[] normalizedPlot = plot == null ? null : MappedVectors.normalize(plot);
+            scores[i] = normalizedQuery == null || normalizedPlot == null
+                    ? Float.NaN
+                    : DotProduct.dot(normalizedQuery, normalizedPlot);
+            if (vectors != null && plot != null) {
+                vectors.put(ids[i], plot);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Maps the store and starts loading it on the first call; null when disabled or
+     * when the file could not be mapped, in which case every candidate is read from Redis.
+     */
+    private MappedVectors vectors() {
+        MappedVectors current = vectors;
+        if (current != null || !enabled) {
+            return current;
+        }
+        synchronized (this) {
+            if (vectors == null && enabled) {
+                try {
+                    vectors = new MappedVectors(capacity, VectorCodec.DIMENSION);
+                    reloadAll();
+                } catch (IOException | IllegalArgumentException ex) {
+                    enabled = false;
+                    log.warn("Could not map plot embeddings off-heap, re-ranking reads them from Redis: {}",
+                            ex.getMessage());
+                }
+            }
+            return vectors;
+        }
+    }
+
+    /**
+     * Runs on the Lettuce event loop, so the work is handed to the loader thread.
+     * Nothing is tracked before the store is first used.
+     */
+    private void onChange(List<String> keys) {
+        if (vectors == null) {
+            return;
+        }
+        if (keys == null) {
+            reloadAll();
+            return;
+        }
+        submit(() -> store(keys));
+    }
+
+    private void reloadAll() {
+        // One pending reload covers any number of requests for it
+        if (reloadPending.compareAndSet(false, true)) {
+            submit(this::loadAll);
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            loader.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception ex) {
+                    log.warn("Could not update plot embeddings: {}", ex.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // Shutting down
+        }
+    }
+
+    private void loadAll() {
+        reloadPending.set(false);
+        long start = System.nanoTime();
+        String cursor = "0";
+        long scanned = 0;
+        do {
+            SearchCommands.ScanReply reply = SearchCommands.scan(redisTemplate, cursor, KEY_PREFIX + "*", SCAN_PAGE_SIZE);
+            if (!reply.keys().isEmpty()) {
+                store(reply.keys());
+            }
+            scanned += reply.keys().size();
+            cursor = reply.cursor();
+        } while (!"0".equals(cursor) && !Thread.currentThread().isInterrupted());
+        log.info("Loaded {} plot embeddings off-heap out of {} movie keys in {} ms", vectors.size(), scanned,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void store(List<String> keys) {
+        MappedVectors vectors = this.vectors;
+        List<float[]> plots = read(keys);
+        for (int i = 0; i < keys.size(); i++) {
+            int id;
+            try {
+                id = MovieHydrator.idOf(keys.get(i));
+            } catch (NumberFormatException ex) {
+                continue;
+            }
+            if (plots.get(i) == null) {
+                vectors.remove(id);
+            } else {
+                vectors.put(id, plots.get(i));
+            }
+        }
+    }
+
+    /**
+     * Reads the plot embeddings of the keys in one pipeline, null where there is none
+     * or it does not match the configured data type.
+     */
+    private List<float[]> read(List<String> keys) {
+        List<Object> stored = redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (String key : keys) {
+                connection.hashCommands().hGet(key.getBytes(StandardCharsets.UTF_8), PLOT_EMBEDDING_FIELD);
+            }
+            return null;
+        }, RedisSerializer.byteArray());
+
+        int blobSize = VectorCodec.blobSize(dataType);
+        List<float[]> plots = new ArrayList<>(keys.size());
+        for (Object value : stored) {
+            byte[] blob = (byte[]) value;
+            plots.add(blob == null || blob.length != blobSize ? null : VectorCodec.decode(blob, dataType));
+        }
+        return plots;
+    }
+}
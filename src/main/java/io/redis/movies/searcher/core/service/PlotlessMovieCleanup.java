@@ -0,0 +1,43 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.SearcherProperties;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deletes movies whose plot is missing or empty, which can never be embedded.
+ * Each slice costs one pipelined round trip of HSTRLEN calls.
+ */
+@Component
+public class PlotlessMovieCleanup extends MaintenanceJob {
+
+    private static final byte[] PLOT_FIELD = "plot".getBytes(StandardCharsets.UTF_8);
+
+    public PlotlessMovieCleanup(StringRedisTemplate redisTemplate, MovieSuggestions movieSuggestions,
+                                SearcherProperties properties) {
+        super("plotless-movies", redisTemplate, movieSuggestions, properties);
+    }
+
+    @Override
+    protected List<String> match(List<String> keys) {
+        List<Object> lengths = redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (String key : keys) {
+                connection.hashCommands().hStrLen(key.getBytes(StandardCharsets.UTF_8), PLOT_FIELD);
+            }
+            return null;
+        });
+
+        List<String> plotless = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if ((Long) lengths.get(i) == 0L) {
+                plotless.add(keys.get(i));
+            }
+        }
+        return plotless;
+    }
+}
@@ -0,0 +1,263 @@
+package io.redis.movies.searcher.core.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.redis.movies.searcher.SearcherProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded, size-aware LRU cache of query embeddings held in the JVM.
+ *
+ * Entries are keyed on the normalized query and weighed by the bytes they hold,
+ * so the cache never grows past the configured size. Concurrent misses for the
+ * same query share a single in-flight computation instead of each running the
+ * embedding model.
+ */
+@Component
+public class QueryEmbeddingCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // Rough per-entry cost of the map node, the key String and the array header
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+    private long bytesHeld;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public QueryEmbeddingCache(SearcherProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.embeddingCache().enabled();
+        this.maxBytes = properties.embeddingCache().maxSize().toBytes();
+
+        this.hits = meterRegistry.counter("search.embedding.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("search.embedding.cache.requests", "result", "miss");
+        this.coalesced = meterRegistry.counter("search.embedding.cache.requests", "result", "coalesced");
+        Gauge.builder("search.embedding.cache.size", this, QueryEmbeddingCache::size)
+                .register(meterRegistry);
+        Gauge.builder("search.embedding.cache.bytes", this, QueryEmbeddingCache::bytesHeld)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Normalizes a query so that trivially different spellings share one entry.
+     * The sentence model is uncased, so lowercasing does not change the embedding.
+     */
+    public static String normalize(String query) {
+        return WHITESPACE.matcher(query.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the embedding for the query, computing it with the loader on a miss.
+     * The loader receives the normalized query.
+     */
+    public byte[] get(String query, Function<String, byte[]> loader) {
+        String key = normalize(query);
+        if (!enabled) {
+            return loader.apply(key);
+        }
+
+        byte[] cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        CompletableFuture<byte[]> computation = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = inFlight.putIfAbsent(key, computation);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            // Another caller may have finished loading between the lookup and the registration
+            byte[] vector = lookup(key);
+            if (vector != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                vector = loader.apply(key);
+                put(key, vector);
+            }
+            computation.complete(vector);
+            return vector;
+        } catch (Throwable ex) {
+            // Errors too, or the callers waiting on this computation would block forever
+            computation.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, computation);
+        }
+    }
+
+    /**
+     * Same as {@link #get(String, Function)} for many queries at once. The loader is
+     * called at most once, with every distinct normalized query that is neither cached
+     * nor being loaded by another caller, and must return their embeddings in order.
+     * Returns one embedding per query, in order.
+     */
+    public List<byte[]> getAll(List<String> queries, Function<List<String>, List<byte[]>> loader) {
+        List<String> keys = queries.stream().map(QueryEmbeddingCache::normalize).toList();
+        Map<String, byte[]> found = new HashMap<>();
+        Map<String, CompletableFuture<byte[]>> owned = new LinkedHashMap<>();
+        Map<String, CompletableFuture<byte[]>> awaited = new HashMap<>();
+
+        for (String key : keys) {
+            if (found.containsKey(key) || owned.containsKey(key) || awaited.containsKey(key)) {
+                continue;
+            }
+            byte[] cached = enabled ? lookup(key) : null;
+            if (cached != null) {
+                hits.increment();
+                found.put(key, cached);
+                continue;
+            }
+            CompletableFuture<byte[]> computation = new CompletableFuture<>();
+            CompletableFuture<byte[]> existing = enabled ? inFlight.putIfAbsent(key, computation) : null;
+            if (existing != null) {
+                coalesced.increment();
+                awaited.put(key, existing);
+            } else {
+                owned.put(key, computation);
+            }
+        }
+
+        // Load before waiting on other callers, so two batches never wait on each other
+        if (!owned.isEmpty()) {
+            try {
+                List<String> toLoad = new ArrayList<>(owned.size());
+                owned.forEach((key, computation) -> {
+                    // Another caller may have finished loading between the lookup and the registration
+                    byte[] vector = enabled ? lookup(key) : null;
+                    if (vector != null) {
+                        hits.increment();
+                        found.put(key, vector);
+                        computation.complete(vector);
+                    } else {
+                        toLoad.add(key);
+                    }
+                });
+                if (!toLoad.isEmpty()) {
+                    misses.increment(toLoad.size());
+                    List<byte[]> vectors = loader.apply(toLoad);
+                    for (int i = 0; i < toLoad.size(); i++) {
+                        String key = toLoad.get(i);
+                        byte[] vector = vectors.get(i);
+                        put(key, vector);
+                        found.put(key, vector);
+                        owned.get(key).complete(vector);
+                    }
+                }
+            } catch (Throwable ex) {
+                owned.values().forEach(computation -> computation.completeExceptionally(ex));
+                throw ex;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+        awaited.forEach((key, computation) -> found.put(key, await(computation)));
+
+        List<byte[]> vectors = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            vectors.add(found.get(key));
+        }
+        return vectors;
+    }
+
+    /**
+     * Returns the cached embedding for the query without computing it.
+     */
+    public byte[] getIfPresent(String query) {
+        return enabled ? lookup(normalize(query)) : null;
+    }
+
+    /**
+     * Adds an embedding computed outside of {@link #get(String, Function)}.
+     */
+    public void put(String query, byte[] vector) {
+        if (!enabled || vector == null) {
+            return;
+        }
+        String key = normalize(query);
+        long weight = weigh(key, vector);
+        if (weight > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            byte[] previous = entries.put(key, vector);
+            if (previous != null) {
+                bytesHeld -= weigh(key, previous);
+            }
+            bytesHeld += weight;
+            Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+            while (bytesHeld > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, byte[]> entry = eldest.next();
+                bytesHeld -= weigh(entry.getKey(), entry.getValue());
+                eldest.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            bytesHeld = 0;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long bytesHeld() {
+        synchronized (entries) {
+            return bytesHeld;
+        }
+    }
+
+    private byte[] lookup(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    private static long weigh(String key, byte[] vector) {
+        return ENTRY_OVERHEAD + 2L * key.length() + vector.length;
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> computation) {
+        try {
+            return computation.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.redis.movies.searcher.core.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the SCAN cursor a backfill can safely resume from.
+ *
+ * Pages are registered in scan order along with the keys they handed to the
+ * pipeline; keys settle in any order as their batches are written. The checkpoint
+ * is the cursor returned with the latest page that, like every page before it, has
+ * no key left in flight. Keys whose batch failed never settle, so the checkpoint
+ * stays before their page and a resumed run scans it again. Each time it moves forward the listener is
+ * called, still in order, so whatever it persists never goes backwards.
+ */
+final class ScanCheckpoint {
+
+    /**
+     * Where to resume from, and how many keys were scanned up to that point.
+     */
+    record Position(String cursor, long scanned) {}
+
+    private static final class Page {
+        final Position end;
+        int inFlight;
+
+        Page(Position end, int inFlight) {
+            this.end = end;
+            this.inFlight = inFlight;
+        }
+    }
+
+    private final Deque<Page> pages = new ArrayDeque<>();
+    private final Map<String, Page> pageByKey = new HashMap<>();
+    private final Consumer<Position> listener;
+    private Position position;
+    private long scanned;
+    private boolean lastPageRead;
+
+    ScanCheckpoint(Position from, Consumer<Position> listener) {
+        this.position = from;
+        this.scanned = from.scanned();
+        this.listener = listener;
+    }
+
+    /**
+     * Registers the next page: {@code cursor} is the one SCAN returned with it,
+     * {@code pageSize} the number of keys it held and {@code keys} the ones queued.
+     */
+    synchronized void pageRead(String cursor, int pageSize, List<String> keys) {
+        scanned += pageSize;
+        lastPageRead = "0".equals(cursor);
+        Page page = new Page(new Position(cursor, scanned), 0);
+        for (String key : keys) {
+            if (pageByKey.putIfAbsent(key, page) == null) {
+                page.inFlight++;
+            }
+        }
+        pages.addLast(page);
+        advance();
+    }
+
+    /**
+     * Marks keys as done once their embeddings are written.
+     */
+    synchronized void settled(List<String> keys) {
+        for (String key : keys) {
+            Page page = pageByKey.remove(key);
+            if (page != null) {
+                page.inFlight--;
+            }
+        }
+        advance();
+    }
+
+    synchronized Position position() {
+        return position;
+    }
+
+    /**
+     * True once SCAN returned its last page and every key of every page has settled.
+     */
+    synchronized boolean complete() {
+        return lastPageRead && pages.isEmpty();
+    }
+
+    private void advance() {
+        Page done = null;
+        while (!pages.isEmpty() && pages.peekFirst().inFlight == 0) {
+            done = pages.pollFirst();
+        }
+        if (done != null) {
+            position = done.end;
+            listener.accept(position);
+        }
+    }
+}
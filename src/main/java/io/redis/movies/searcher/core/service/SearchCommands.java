@@ -0,0 +1,100 @@
+package io.redis.movies.searcher.core.service;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Raw Redis Query Engine commands that Redis OM does not expose, such as FT.INFO,
+ * FT.DROPINDEX and a plain FT.CREATE, along with helpers to read their replies.
+ * Also SCAN from an explicit cursor, which the template's scan does not allow.
+ */
+final class SearchCommands {
+
+    /**
+     * One SCAN reply: the cursor to continue from, {@code "0"} at the end, and the keys.
+     */
+    record ScanReply(String cursor, List<String> keys) {}
+
+    private SearchCommands() {}
+
+    static Object execute(StringRedisTemplate redisTemplate, String command, String... args) {
+        byte[][] rawArgs = new byte[args.length][];
+        for (int i = 0; i < args.length; i++) {
+            rawArgs[i] = args[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return execute(redisTemplate, command, rawArgs);
+    }
+
+    static Object execute(StringRedisTemplate redisTemplate, String command, byte[]... args) {
+        return redisTemplate.execute((RedisConnection connection) -> connection.execute(command, args));
+    }
+
+    /**
+     * Sends the same command once per argument list in a single pipeline, and returns
+     * the raw replies in order, without going through the template's serializers.
+     */
+    static List<Object> executePipelined(StringRedisTemplate redisTemplate, String command, List<byte[][]> argLists) {
+        return redisTemplate.execute((RedisConnection connection) -> {
+            connection.openPipeline();
+            for (byte[][] args : argLists) {
+                connection.execute(command, args);
+            }
+            return connection.closePipeline();
+        });
+    }
+
+    static ScanReply scan(StringRedisTemplate redisTemplate, String cursor, String pattern, int count) {
+        // [next cursor, [key1, key2, ...]]
+        List<?> reply = (List<?>) execute(redisTemplate, "SCAN", cursor, "MATCH", pattern, "COUNT", Integer.toString(count));
+        List<String> keys = new ArrayList<>();
+        for (Object key : (List<?>) reply.get(1)) {
+            keys.add(asString(key));
+        }
+        return new ScanReply(asString(reply.get(0)), keys);
+    }
+
+    /**
+     * Returns the FT.INFO reply as a map, with the top-level values decoded to Strings.
+     */
+    static Map<String, Object> info(StringRedisTemplate redisTemplate, String index) {
+        return toMap(execute(redisTemplate, "FT.INFO", index));
+    }
+
+    /**
+     * Turns a map reply, sent either as a map or as a flat [key1, value1, ...] list,
+     * into a map keyed by String. Binary values are decoded, nested replies are kept as is.
+     */
+    static Map<String, Object> toMap(Object reply) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (reply instanceof Map<?, ?> raw) {
+            raw.forEach((key, value) -> map.put(asString(key), value instanceof byte[] ? asString(value) : value));
+        } else if (reply instanceof List<?> flat) {
+            for (int i = 0; i + 1 < flat.size(); i += 2) {
+                Object value = flat.get(i + 1);
+                map.put(asString(flat.get(i)), value instanceof byte[] ? asString(value) : value);
+            }
+        }
+        return map;
+    }
+
+    static String asString(Object value) {
+        return value instanceof byte[] raw ? new String(raw, StandardCharsets.UTF_8) : String.valueOf(value);
+    }
+
+    static double asDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        try {
+            return value == null ? 0.0 : Double.parseDouble(asString(value));
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package io.redis.movies.searcher.core.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.redis.movies.searcher.SearcherProperties;
+import io.redis.movies.searcher.core.domain.ResultType;
+import io.redis.movies.searcher.core.domain.SearchMode;
+import io.redis.movies.searcher.core.dto.MovieDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times each stage of a search as a {@code search.stage} timer tagged with the
+ * search mode, the stage and the {@link ResultType} the search ended with.
+ *
+ * Timers publish a percentile histogram plus p50/p95/p99/p99.9, so they can be
+ * aggregated across instances from the Prometheus scrape endpoint. Stage
+ * durations are held until the search finishes, since the result type is only
+ * known then. Per-stage log lines are only written when
+ * {@code searcher.search.log-stages} is on.
+ */
+@Component
+public class SearchMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchMetrics.class);
+    private static final String TIMER_NAME = "search.stage";
+
+    public enum Stage {
+        FTS, EMBEDDING, VSS, HYBRID, RERANK, HYDRATE, TOTAL;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private record TimerKey(SearchMode mode, Stage stage, ResultType result) {}
+
+    private final MeterRegistry meterRegistry;
+    private final boolean logStages;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public SearchMetrics(MeterRegistry meterRegistry, SearcherProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.logStages = properties.search().logStages();
+    }
+
+    /**
+     * Starts timing one search.
+     */
+    public Sample start(SearchMode mode, String query) {
+        if (logStages) {
+            logger.info("[{}] Received query: {}", mode, query);
+        }
+        return new Sample(mode);
+    }
+
+    private Timer timer(SearchMode mode, Stage stage, ResultType result) {
+        return timers.computeIfAbsent(new TimerKey(mode, stage, result), key -> Timer.builder(TIMER_NAME)
+                .description("Time spent in each stage of a search")
+                .tag("mode", mode.name())
+                .tag("stage", stage.tag)
+                .tag("result", result.name())
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99, 0.999)
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry));
+    }
+
+    /**
+     * Stage durations of one search. Stages may be recorded from several threads;
+     * any recorded after {@link #finish} go straight to their timer.
+     */
+    public final class Sample {
+
+        private final SearchMode mode;
+        private final long startNanos = System.nanoTime();
+        private final long[] durations = new long[Stage.values().length];
+        private ResultType result;
+
+        private Sample(SearchMode mode) {
+            this.mode = mode;
+            Arrays.fill(durations, -1);
+        }
+
+        public <T> T time(Stage stage, Supplier<T> work) {
+            long start = System.nanoTime();
+            try {
+                return work.get();
+            } finally {
+                record(stage, System.nanoTime() - start);
+            }
+        }
+
+        public void record(Stage stage, long nanos) {
+            ResultType finishedWith;
+            synchronized (this) {
+                finishedWith = result;
+                if (finishedWith == null) {
+                    durations[stage.ordinal()] = nanos;
+                }
+            }
+            if (finishedWith != null) {
+                timer(mode, stage, finishedWith).record(nanos, TimeUnit.NANOSECONDS);
+            }
+            if (logStages) {
+                logger.info("[{}] {} took {} ms", mode, stage, TimeUnit.NANOSECONDS.toMillis(nanos));
+            }
+        }
+
+        /**
+         * Records the total and every stage seen so far, tagged with the result type.
+         */
+        public Pair<List<MovieDTO>, ResultType> finish(Pair<List<MovieDTO>, ResultType> outcome) {
+            record(Stage.TOTAL, System.nanoTime() - startNanos);
+            long[] recorded;
+            synchronized (this) {
+                result = outcome.getSecond();
+                recorded = durations.clone();
+            }
+            for (Stage stage : Stage.values()) {
+                if (recorded[stage.ordinal()] >= 0) {
+                    timer(mode, stage, result).record(recorded[stage.ordinal()], TimeUnit.NANOSECONDS);
+                }
+            }
+            if (logStages) {
+                logger.info("[{}] Found {} movies ({})", mode, outcome.getFirst().size(), result);
+            }
+            return outcome;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package io.redis.movies.searcher.core.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.redis.movies.searcher.SearcherProperties;
+import io.redis.movies.searcher.core.domain.ResultType;
+import io.redis.movies.searcher.core.domain.SearchMode;
+import io.redis.movies.searcher.core.dto.HybridSearchOptions;
+import io.redis.movies.searcher.core.dto.MovieDTO;
+import io.redis.movies.searcher.core.dto.SearchResponse;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache of serialized search responses sitting in front of {@link SearchService}.
+ *
+ * Entries are keyed on the search mode, the normalized query, the limit and the
+ * hybrid options, and hold the response already rendered as JSON. Every entry
+ * remembers the {@code movie:*} keys it contains, and is dropped as soon as
+ * {@link MovieInvalidationListener} reports a change to any of them. A TTL bounds
+ * how long a response can miss movies added after it was cached.
+ */
+@Component
+public class SearchResponseCache {
+
+    private static final String KEY_PREFIX = "movie:";
+    private static final int ENTRY_OVERHEAD = 256;
+
+    /**
+     * Identifies one cacheable search.
+     */
+    record Key(SearchMode mode, String query, int limit, HybridSearchOptions options) {}
+
+    private record Entry(byte[] json, Set<String> movieKeys, long expiresAt) {}
+
+    private record Lookup(byte[] json, long invalidations) {}
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final JsonMapper jsonMapper;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Set<Key>> keysByMovie = new HashMap<>();
+    private long bytesHeld;
+    private long invalidations;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public SearchResponseCache(SearcherProperties properties, JsonMapper jsonMapper,
+                               MovieInvalidationListener invalidationListener, MeterRegistry meterRegistry) {
+        this.enabled = properties.responseCache().enabled();
+        this.maxBytes = properties.responseCache().maxSize().toBytes();
+        this.ttlMillis = properties.responseCache().ttl().toMillis();
+        this.jsonMapper = jsonMapper;
+
+        this.hits = meterRegistry.counter("search.response.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("search.response.cache.requests", "result", "miss");
+        Gauge.builder("search.response.cache.hit.ratio", this, SearchResponseCache::hitRatio)
+                .register(meterRegistry);
+        Gauge.builder("search.response.cache.size", this, SearchResponseCache::size)
+                .register(meterRegistry);
+        Gauge.builder("search.response.cache.bytes", this, SearchResponseCache::bytesHeld)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        if (enabled) {
+            invalidationListener.addListener(this::invalidate);
+        }
+    }
+
+    /**
+     * Returns the JSON response for the search, running it on a miss.
+     */
+    public byte[] get(SearchMode mode, String query, Integer limit, HybridSearchOptions options,
+                      Supplier<Pair<List<MovieDTO>, ResultType>> search) {
+        if (!enabled) {
+            return render(search.get());
+        }
+
+        Key key = new Key(mode, QueryEmbeddingCache.normalize(query), limit == null ? 0 : limit, options);
+        long now = System.currentTimeMillis();
+        Lookup lookup = lookup(key, now);
+        if (lookup.json() != null) {
+            return lookup.json();
+        }
+        return store(key, now, lookup.invalidations(), search.get());
+    }
+
+    /**
+     * Same as {@link #get}, for searches that complete asynchronously. A hit completes right away.
+     */
+    public CompletableFuture<byte[]> getAsync(SearchMode mode, String query, Integer limit, HybridSearchOptions options,
+                                              Supplier<CompletableFuture<Pair<List<MovieDTO>, ResultType>>> search) {
+        if (!enabled) {
+            return search.get().thenApply(this::render);
+        }
+
+        Key key = new Key(mode, QueryEmbeddingCache.normalize(query), limit == null ? 0 : limit, options);
+        long now = System.currentTimeMillis();
+        Lookup lookup = lookup(key, now);
+        if (lookup.json() != null) {
+            return CompletableFuture.completedFuture(lookup.json());
+        }
+        return search.get().thenApply(result -> store(key, now, lookup.invalidations(), result));
+    }
+
+    /**
+     * Returns the cached JSON, or null along with the invalidation count seen on the miss.
+     */
+    private Lookup lookup(Key key, long now) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > now) {
+                hits.increment();
+                return new Lookup(entry.json(), invalidations);
+            } else if (entry != null) {
+                remove(key, entry);
+            }
+            misses.increment();
+            return new Lookup(null, invalidations);
+        }
+    }
+
+    private byte[] store(Key key, long now, long invalidationsBefore, Pair<List<MovieDTO>, ResultType> result) {
+        byte[] json = render(result);
+
+        Set<String> movieKeys = new HashSet<>();
+        for (MovieDTO movie : result.getFirst()) {
+            movieKeys.add(KEY_PREFIX + movie.id());
+        }
+        synchronized (entries) {
+            // Skip caching if anything was invalidated while the search ran, it may already be stale
+            if (invalidations == invalidationsBefore) {
+                put(key, new Entry(json, movieKeys, now + ttlMillis));
+            }
+        }
+        return json;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            keysByMovie.clear();
+            bytesHeld = 0;
+            invalidations++;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long bytesHeld() {
+        synchronized (entries) {
+            return bytesHeld;
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    private byte[] render(Pair<List<MovieDTO>, ResultType> result) {
+        return jsonMapper.writeValueAsBytes(new SearchResponse(result.getSecond().name(), result.getFirst()));
+    }
+
+    private void invalidate(List<String> movieKeys) {
+        if (movieKeys == null) {
+            clear();
+            return;
+        }
+        synchronized (entries) {
+            invalidations++;
+            for (String movieKey : movieKeys) {
+                Set<Key> affected = keysByMovie.remove(movieKey);
+                if (affected == null) {
+                    continue;
+                }
+                for (Key key : affected) {
+                    Entry entry = entries.get(key);
+                    if (entry != null) {
+                        remove(key, entry);
+                    }
+                }
+            }
+        }
+    }
+
+    private void put(Key key, Entry entry) {
+        Entry previous = entries.get(key);
+        if (previous != null) {
+            remove(key, previous);
+        }
+        entries.put(key, entry);
+        bytesHeld += weigh(entry);
+        for (String movieKey : entry.movieKeys()) {
+            keysByMovie.computeIfAbsent(movieKey, k -> new HashSet<>()).add(key);
+        }
+
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (bytesHeld > maxBytes && eldest.hasNext()) {
+            Map.Entry<Key, Entry> evicted = eldest.next();
+            eldest.remove();
+            unlink(evicted.getKey(), evicted.getValue());
+        }
+    }
+
+    private void remove(Key key, Entry entry) {
+        entries.remove(key);
+        unlink(key, entry);
+    }
+
+    private void unlink(Key key, Entry entry) {
+        bytesHeld -= weigh(entry);
+        for (String movieKey : entry.movieKeys()) {
+            Set<Key> keys = keysByMovie.get(movieKey);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByMovie.remove(movieKey);
+            }
+        }
+    }
+
+    private static long weigh(Entry entry) {
+        return ENTRY_OVERHEAD + entry.json().length + 48L * entry.movieKeys().size();
+    }
+}
@@ -2,108 +2,291 @@ package io.redis.movies.searcher.core.service;
 
 import org.springframework.data.util.Pair;
 import com.redis.om.spring.search.stream.EntityStream;
+import io.redis.movies.searcher.SearcherProperties;
 import io.redis.movies.searcher.core.domain.*;
+import io.redis.movies.searcher.core.dto.HybridSearchOptions;
 import io.redis.movies.searcher.core.dto.MovieDTO;
-import io.redis.movies.searcher.core.repository.KeywordRepository;
-import io.redis.movies.searcher.core.repository.MovieRepository;
+import io.redis.movies.searcher.core.service.SearchMetrics.Stage;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class SearchService {
 
     private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
-    private static final String INDEX_NAME = "movie_index";
 
     private final EntityStream entityStream;
-    private final KeywordRepository keywordRepository;
-    private final MovieRepository movieRepository;
+    private final KeywordService keywordService;
+    private final MovieHydrator movieHydrator;
     private final StringRedisTemplate redisTemplate;
-
-    public SearchService(EntityStream entityStream, KeywordRepository keywordRepository,
-                         MovieRepository movieRepository, StringRedisTemplate redisTemplate) {
+    private final QueryEmbeddingCache queryEmbeddingCache;
+    private final SearchMetrics searchMetrics;
+    private final AsyncSearchService asyncSearchService;
+    private final PlotEmbeddingStore plotEmbeddingStore;
+    private final ExecutorService searchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final boolean speculativeVss;
+    private final HybridSearchOptions defaultHybridOptions;
+    private final VectorDataType vectorDataType;
+    private final int rerankOverFetch;
+    private final float rerankFtsBoost;
+
+    public SearchService(EntityStream entityStream, KeywordService keywordService,
+                         MovieHydrator movieHydrator, StringRedisTemplate redisTemplate,
+                         QueryEmbeddingCache queryEmbeddingCache, SearchMetrics searchMetrics,
+                         AsyncSearchService asyncSearchService, PlotEmbeddingStore plotEmbeddingStore,
+                         SearcherProperties properties) {
         this.entityStream = entityStream;
-        this.keywordRepository = keywordRepository;
-        this.movieRepository = movieRepository;
+        this.keywordService = keywordService;
+        this.movieHydrator = movieHydrator;
         this.redisTemplate = redisTemplate;
+        this.queryEmbeddingCache = queryEmbeddingCache;
+        this.searchMetrics = searchMetrics;
+        this.asyncSearchService = asyncSearchService;
+        this.plotEmbeddingStore = plotEmbeddingStore;
+        this.speculativeVss = properties.search().speculativeVss();
+        var hybrid = properties.search().hybrid();
+        this.defaultHybridOptions = new HybridSearchOptions(hybrid.fusion(), hybrid.alpha(), hybrid.beta(),
+                hybrid.rrfConstant(), hybrid.vectorK(), hybrid.efRuntime());
+        this.vectorDataType = properties.vectorIndex().dataType();
+        this.rerankOverFetch = properties.rerank().overFetch();
+        this.rerankFtsBoost = properties.rerank().ftsBoost();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        searchExecutor.shutdownNow();
+    }
+
+    /**
+     * Runs the query with the given strategy. The hybrid options only apply to {@link SearchMode#RAW}
+     * {@link SearchMode#ASYNC} and {@link SearchMode#BATCH}; {@code ASYNC} blocks the caller until the
+     * async search completes, {@code BATCH} runs the query as a batch of one, and {@code STREAMING}
+     * returns once the last hits have arrived.
+     */
+    public Pair<List<MovieDTO>, ResultType> search(SearchMode mode, String query, Integer limit,
+                                                   HybridSearchOptions options) {
+        return switch (mode) {
+            case MANUAL -> manualHybridSearch(query, limit);
+            case SPECULATIVE -> speculativeHybridSearch(query, limit);
+            case NATIVE -> nativeHybridSearch(query, limit);
+            case RAW -> rawHybridSearch(query, limit, options);
+            case ASYNC -> await(asyncSearchService.search(query, limit, options));
+            case BATCH -> batchSearch(List.of(query), limit, options).get(0);
+            case STREAMING -> progressiveSearch(query, limit, (stage, movies) -> {});
+            case RERANK -> rerankedHybridSearch(query, limit);
+        };
     }
 
     public Pair<List<MovieDTO>, ResultType> manualHybridSearch(String query, Integer limit) {
-        logger.info("Received query: {}", query);
-        logger.info("-------------------------");
+        SearchMetrics.Sample sample = searchMetrics.start(SearchMode.MANUAL, query);
         final int resultLimit = (limit == null) ? DEFAULT_RESULT_LIMIT : limit;
 
         // Execute FTS search
-        var ftsSearchStartTime = System.currentTimeMillis();
-        List<Movie> ftsMovies = entityStream.of(Movie.class)
-                .filter(Movie$.TITLE.eq(query).or(Movie$.TITLE.containing(query)))
-                .limit(resultLimit)
-                .sorted(Comparator.comparing(Movie::getTitle))
-                .collect(Collectors.toList());
-
-        var ftsSearchEndTime = System.currentTimeMillis();
-        logger.info("FTS search took {} ms", ftsSearchEndTime - ftsSearchStartTime);
-
-        // Convert FTS results to DTOs
-        List<MovieDTO> ftsMovieDTOs = convertToDTOs(ftsMovies);
+        List<Movie> ftsMovies = sample.time(Stage.FTS, () -> fullTextSearch(query, resultLimit));
 
         // If FTS results are sufficient, return them immediately
         if (ftsMovies.size() >= resultLimit) {
-            return Pair.of(ftsMovieDTOs, ResultType.FTS);
+            return sample.finish(Pair.of(sample.time(Stage.HYDRATE, () -> convertToDTOs(ftsMovies)), ResultType.FTS));
         }
 
         // Create the embedding query
-        var embeddingStartTime = System.currentTimeMillis();
-        byte[] queryAsVector = getQueryAsVector(query);
-        var embeddingEndTime = System.currentTimeMillis();
-        logger.info("Embedding took {} ms", embeddingEndTime - embeddingStartTime);
+        byte[] queryAsVector = sample.time(Stage.EMBEDDING, () -> getQueryAsVector(query));
 
         // Execute VSS search
-        var vssSearchStartTime = System.currentTimeMillis();
-        List<Movie> vssMovies = entityStream.of(Movie.class)
-                .filter(Movie$.PLOT_EMBEDDING.knn(resultLimit, queryAsVector))
-                .limit(resultLimit)
-                .sorted(Movie$._PLOT_EMBEDDING_SCORE)
-                .collect(Collectors.toList());
-        var vssSearchEndTime = System.currentTimeMillis();
-        logger.info("VSS search took {} ms", vssSearchEndTime - vssSearchStartTime);
+        List<Movie> vssMovies = sample.time(Stage.VSS, () -> vectorSearch(queryAsVector, resultLimit));
 
-        // Combine results
-        LinkedHashMap<Integer, Movie> uniqueMoviesMap = new LinkedHashMap<>();
-        ftsMovies.forEach(movie -> uniqueMoviesMap.put(movie.getId(), movie));
-        vssMovies.forEach(movie -> uniqueMoviesMap.putIfAbsent(movie.getId(), movie));
+        return sample.finish(combineResults(ftsMovies, vssMovies, resultLimit, sample));
+    }
 
-        // Limit and convert combined results to DTOs
-        List<Movie> uniqueMovies = uniqueMoviesMap.values().stream()
-                .limit(resultLimit)
+    /**
+     * Same result as {@link #manualHybridSearch(String, Integer)}, but the FTS query and the
+     * query embedding start at the same time on virtual threads, and when
+     * {@code searcher.search.speculative-vss} is on the VSS query is chained right after
+     * the embedding instead of waiting for FTS. When FTS alone fills the limit the vector
+     * branch is discarded; it is left to finish so the embedding still lands in the cache.
+     */
+    public Pair<List<MovieDTO>, ResultType> speculativeHybridSearch(String query, Integer limit) {
+        SearchMetrics.Sample sample = searchMetrics.start(SearchMode.SPECULATIVE, query);
+        final int resultLimit = (limit == null) ? DEFAULT_RESULT_LIMIT : limit;
+
+        Future<List<Movie>> ftsBranch = searchExecutor.submit(() ->
+                sample.time(Stage.FTS, () -> fullTextSearch(query, resultLimit)));
+        Future<byte[]> embeddingBranch = searchExecutor.submit(() ->
+                sample.time(Stage.EMBEDDING, () -> getQueryAsVector(query)));
+        Future<List<Movie>> vssBranch = speculativeVss
+                ? searchExecutor.submit(() -> {
+                    byte[] queryAsVector = await(embeddingBranch);
+                    return sample.time(Stage.VSS, () -> vectorSearch(queryAsVector, resultLimit));
+                })
+                : null;
+
+        List<Movie> ftsMovies = await(ftsBranch);
+
+        if (ftsMovies.size() >= resultLimit) {
+            if (vssBranch != null) {
+                vssBranch.cancel(false);
+            }
+            return sample.finish(Pair.of(sample.time(Stage.HYDRATE, () -> convertToDTOs(ftsMovies)), ResultType.FTS));
+        }
+
+        List<Movie> vssMovies;
+        if (vssBranch != null) {
+            vssMovies = await(vssBranch);
+        } else {
+            byte[] queryAsVector = await(embeddingBranch);
+            vssMovies = sample.time(Stage.VSS, () -> vectorSearch(queryAsVector, resultLimit));
+        }
+
+        return sample.finish(combineResults(ftsMovies, vssMovies, resultLimit, sample));
+    }
+
+    /**
+     * Progressive variant of {@link #speculativeHybridSearch(String, Integer)} that returns right away
+     * and runs on a virtual thread. FTS and the query embedding start at the same time; the FTS hits
+     * are handed to {@code partial} as soon as they are found, tagged {@link ResultType#FTS}, and if
+     * they do not fill the limit the vector hits FTS did not return follow, tagged
+     * {@link ResultType#VSS}. Together they are the movies {@code /search} would return, in the same
+     * order. {@code complete} then receives the result type of the whole search, or {@code failed}
+     * the error that ended it, including one thrown by a callback.
+     */
+    public void streamingSearch(String query, Integer limit, BiConsumer<ResultType, List<MovieDTO>> partial,
+                                Consumer<ResultType> complete, Consumer<Throwable> failed) {
+        searchExecutor.execute(() -> {
+            try {
+                complete.accept(progressiveSearch(query, limit, partial).getSecond());
+            } catch (RuntimeException ex) {
+                failed.accept(ex);
+            }
+        });
+    }
+
+    private Pair<List<MovieDTO>, ResultType> progressiveSearch(String query, Integer limit,
+                                                               BiConsumer<ResultType, List<MovieDTO>> partial) {
+        SearchMetrics.Sample sample = searchMetrics.start(SearchMode.STREAMING, query);
+        final int resultLimit = (limit == null) ? DEFAULT_RESULT_LIMIT : limit;
+
+        Future<byte[]> embeddingBranch = searchExecutor.submit(() ->
+                sample.time(Stage.EMBEDDING, () -> getQueryAsVector(query)));
+
+        List<Movie> ftsMovies = sample.time(Stage.FTS, () -> fullTextSearch(query, resultLimit));
+        long hydrateStart = System.nanoTime();
+        List<MovieDTO> ftsHits = convertToDTOs(ftsMovies);
+        long hydrateNanos = System.nanoTime() - hydrateStart;
+        if (!ftsHits.isEmpty()) {
+            partial.accept(ResultType.FTS, ftsHits);
+        }
+
+        if (ftsMovies.size() >= resultLimit) {
+            sample.record(Stage.HYDRATE, hydrateNanos);
+            return sample.finish(Pair.of(ftsHits, ResultType.FTS));
+        }
+
+        byte[] queryAsVector = await(embeddingBranch);
+        List<Movie> vssMovies = sample.time(Stage.VSS, () -> vectorSearch(queryAsVector, resultLimit));
+
+        hydrateStart = System.nanoTime();
+        Set<Integer> found = new HashSet<>();
+        ftsMovies.forEach(movie -> found.add(movie.getId()));
+        List<Movie> newMovies = vssMovies.stream()
+                .filter(movie -> found.add(movie.getId()))
+                .limit(resultLimit - ftsMovies.size())
                 .collect(Collectors.toList());
+        List<MovieDTO> vssHits = convertToDTOs(newMovies);
+        sample.record(Stage.HYDRATE, hydrateNanos + System.nanoTime() - hydrateStart);
+        if (!vssHits.isEmpty()) {
+            partial.accept(ResultType.VSS, vssHits);
+        }
+
+        List<MovieDTO> movies = new ArrayList<>(ftsHits);
+        movies.addAll(vssHits);
+        return sample.finish(Pair.of(movies, ftsMovies.isEmpty() ? ResultType.VSS : ResultType.HYBRID));
+    }
 
-        return Pair.of(convertToDTOs(uniqueMovies), ftsMovies.isEmpty() ? ResultType.VSS : ResultType.HYBRID);
+    /**
+     * Hybrid search whose ranking is computed in the JVM. FTS and the query embedding start
+     * at the same time, and FTS and VSS each fetch {@code searcher.rerank.over-fetch} times
+     * the limit. Every candidate is then scored by the exact cosine similarity between its
+     * plot and the query, from the {@link PlotEmbeddingStore}, plus
+     * {@code searcher.rerank.fts-boost} when its title matched, and the best ones are kept.
+     * Unlike {@link #manualHybridSearch(String, Integer)}, a title match does not win over a
+     * much closer plot.
+     */
+    public Pair<List<MovieDTO>, ResultType> rerankedHybridSearch(String query, Integer limit) {
+        SearchMetrics.Sample sample = searchMetrics.start(SearchMode.RERANK, query);
+        final int resultLimit = (limit == null) ? DEFAULT_RESULT_LIMIT : limit;
+        final int candidateLimit = resultLimit * Math.max(1, rerankOverFetch);
+
+        Future<List<Movie>> ftsBranch = searchExecutor.submit(() ->
+                sample.time(Stage.FTS, () -> fullTextSearch(query, candidateLimit)));
+        byte[] queryAsVector = sample.time(Stage.EMBEDDING, () -> getQueryAsVector(query));
+        List<Movie> vssMovies = sample.time(Stage.VSS, () -> vectorSearch(queryAsVector, candidateLimit));
+        List<Movie> ftsMovies = await(ftsBranch);
+
+        List<Movie> movies = sample.time(Stage.RERANK, () -> rerank(queryAsVector, ftsMovies, vssMovies, resultLimit));
+        ResultType resultType = ftsMovies.isEmpty() ? ResultType.VSS
+                : vssMovies.isEmpty() ? ResultType.FTS : ResultType.HYBRID;
+        return sample.finish(Pair.of(sample.time(Stage.HYDRATE, () -> convertToDTOs(movies)), resultType));
     }
 
+    /**
+     * Sorts the union of the candidates by score, best first, and keeps the limit.
+     * Candidates without a plot embedding rank last, FTS hits before VSS hits.
+     */
+    private List<Movie> rerank(byte[] queryAsVector, List<Movie> ftsMovies, List<Movie> vssMovies, int resultLimit) {
+        LinkedHashMap<Integer, Movie> candidates = new LinkedHashMap<>();
+        ftsMovies.forEach(movie -> candidates.put(movie.getId(), movie));
+        vssMovies.forEach(movie -> candidates.putIfAbsent(movie.getId(), movie));
+
+        List<Movie> movies = new ArrayList<>(candidates.values());
+        int[] ids = new int[movies.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = movies.get(i).getId();
+        }
+        float[] cosine = plotEmbeddingStore.cosine(queryAsVector, ids);
+
+        Map<Integer, Float> scores = new HashMap<>();
+        Set<Integer> titleMatches = new HashSet<>();
+        ftsMovies.forEach(movie -> titleMatches.add(movie.getId()));
+        for (int i = 0; i < ids.length; i++) {
+            float score = Float.isNaN(cosine[i]) ? -Float.MAX_VALUE : cosine[i];
+            scores.put(ids[i], titleMatches.contains(ids[i]) ? score + rerankFtsBoost : score);
+        }
+        // The sort is stable, so ties keep FTS order first
+        movies.sort(Comparator.comparing((Movie movie) -> scores.get(movie.getId())).reversed());
+        return movies.size() > resultLimit ? List.copyOf(movies.subList(0, resultLimit)) : movies;
+    }
+
+    /**
+     * Hybrid search through Redis OM. Redis OM sends the query vector as FLOAT32, so
+     * with any other {@code searcher.vector-index.data-type} this runs the same
+     * FT.HYBRID query as {@link #rawHybridSearch(String, Integer)} instead.
+     */
     public Pair<List<MovieDTO>, ResultType> nativeHybridSearch(String query, Integer limit) {
-        logger.info("Received query: {}", query);
-        logger.info("-------------------------");
+        SearchMetrics.Sample sample = searchMetrics.start(SearchMode.NATIVE, query);
+        if (vectorDataType != VectorDataType.FLOAT32) {
+            return sample.finish(rawHybridSearch(query, limit, HybridSearchOptions.DEFAULTS, sample));
+        }
         final int resultLimit = (limit == null) ? DEFAULT_RESULT_LIMIT : limit;
 
         // Create the embedding for the query
-        var embeddingStartTime = System.currentTimeMillis();
-        byte[] queryAsVector = getQueryAsVector(query);
-        float[] vectorAsFloat = bytesToFloats(queryAsVector);
-        var embeddingEndTime = System.currentTimeMillis();
-        logger.info("Embedding took {} ms", embeddingEndTime - embeddingStartTime);
-
-        var hybridSearchStartTime = System.currentTimeMillis();
-        List<Movie> movies = entityStream.of(Movie.class)
+        float[] vectorAsFloat = sample.time(Stage.EMBEDDING, () ->
+                VectorCodec.decode(getQueryAsVector(query), VectorDataType.FLOAT32));
+
+        List<Movie> movies = sample.time(Stage.HYBRID, () -> entityStream.of(Movie.class)
                 .hybridSearch(
                         query,                    // text query
                         Movie$.TITLE,             // text field to search
@@ -112,263 +295,194 @@ public class SearchService {
                         0.0f                      // alpha: 30% vector, 70% text
                 )
                 .limit(resultLimit)
-                .collect(Collectors.toList());
-        ResultType resultType = ResultType.HYBRID;
-        var hybridSearchEndTime = System.currentTimeMillis();
+                .collect(Collectors.toList()));
 
-        logger.info("Hybrid search took {} ms", hybridSearchEndTime - hybridSearchStartTime);
-        logger.info("Found {} movies", movies.size());
-
-        return Pair.of(convertToDTOs(movies), resultType);
+        return sample.finish(Pair.of(sample.time(Stage.HYDRATE, () -> convertToDTOs(movies)), ResultType.HYBRID));
     }
 
     /**
      * Performs a raw hybrid search by sending FT.HYBRID commands directly to Redis.
      * This method bypasses Redis OM's query processing to verify Redis's native behavior.
-     *
-     * FT.HYBRID syntax (Redis 8.4+):
-     * FT.HYBRID index
-     *   SEARCH query
-     *   VSIM vector_field $BLOB KNN count K k
-     *   COMBINE LINEAR count ALPHA alpha BETA beta
-     *   PARAMS 2 BLOB <vector_bytes>
+     * The command itself is built by {@link HybridQueryBuilder}.
      */
     public Pair<List<MovieDTO>, ResultType> rawHybridSearch(String query, Integer limit) {
-        logger.info("[RAW] Received query: {}", query);
-        logger.info("[RAW] -------------------------");
+        return rawHybridSearch(query, limit, HybridSearchOptions.DEFAULTS);
+    }
+
+    /**
+     * Same as {@link #rawHybridSearch(String, Integer)}, with the fusion method and the
+     * vector leg tuned per request. Options left null fall back to {@code searcher.search.hybrid.*}.
+     */
+    public Pair<List<MovieDTO>, ResultType> rawHybridSearch(String query, Integer limit, HybridSearchOptions options) {
+        SearchMetrics.Sample sample = searchMetrics.start(SearchMode.RAW, query);
+        return sample.finish(rawHybridSearch(query, limit, options, sample));
+    }
+
+    private Pair<List<MovieDTO>, ResultType> rawHybridSearch(String query, Integer limit, HybridSearchOptions options,
+                                                             SearchMetrics.Sample sample) {
         final int resultLimit = (limit == null) ? DEFAULT_RESULT_LIMIT : limit;
 
         // Create the embedding for the query
-        var embeddingStartTime = System.currentTimeMillis();
-        byte[] queryAsVector = getQueryAsVector(query);
-        var embeddingEndTime = System.currentTimeMillis();
-        logger.info("[RAW] Embedding took {} ms", embeddingEndTime - embeddingStartTime);
-
-        var hybridSearchStartTime = System.currentTimeMillis();
-
-        // Build the FT.HYBRID command
-        // FT.HYBRID movie_index
-        //   SEARCH "query"
-        //   VSIM plotEmbedding $BLOB KNN 2 K <limit>
-        //   COMBINE LINEAR 2 ALPHA 0.0 BETA 1.0
-        //   PARAMS 2 BLOB <vector_bytes>
-
-        // Alpha=0.0 means 100% text weight (matching nativeHybridSearch with alpha=0.0f)
-        String searchQuery = escapeQuery(query);
-
-        logger.info("[RAW] Executing FT.HYBRID {} SEARCH \"{}\" VSIM @plotEmbedding $BLOB KNN 2 K {} COMBINE LINEAR {} ALPHA 0.0 BETA 1.0 LIMIT 0 {} PARAMS 2 BLOB <{} bytes>",
-                INDEX_NAME, searchQuery, resultLimit, resultLimit, resultLimit, queryAsVector.length);
-
-        // Build the command arguments for FT.HYBRID
-        byte[][] args = new byte[][] {
-            INDEX_NAME.getBytes(StandardCharsets.UTF_8),
-            "SEARCH".getBytes(StandardCharsets.UTF_8),
-            searchQuery.getBytes(StandardCharsets.UTF_8),
-            "VSIM".getBytes(StandardCharsets.UTF_8),
-            "@plotEmbedding".getBytes(StandardCharsets.UTF_8),
-            "$BLOB".getBytes(StandardCharsets.UTF_8),
-            "KNN".getBytes(StandardCharsets.UTF_8),
-            "2".getBytes(StandardCharsets.UTF_8),  // count of KNN args
-            "K".getBytes(StandardCharsets.UTF_8),
-            String.valueOf(resultLimit).getBytes(StandardCharsets.UTF_8),
-            "COMBINE".getBytes(StandardCharsets.UTF_8),
-            "LINEAR".getBytes(StandardCharsets.UTF_8),
-            String.valueOf(resultLimit).getBytes(StandardCharsets.UTF_8),  // count for LINEAR
-            "ALPHA".getBytes(StandardCharsets.UTF_8),
-            "0.0".getBytes(StandardCharsets.UTF_8),  // 0% vector weight
-            "BETA".getBytes(StandardCharsets.UTF_8),
-            "1.0".getBytes(StandardCharsets.UTF_8),  // 100% text weight
-            "LIMIT".getBytes(StandardCharsets.UTF_8),
-            "0".getBytes(StandardCharsets.UTF_8),  // offset
-            String.valueOf(resultLimit).getBytes(StandardCharsets.UTF_8),  // num results
-            "PARAMS".getBytes(StandardCharsets.UTF_8),
-            "2".getBytes(StandardCharsets.UTF_8),
-            "BLOB".getBytes(StandardCharsets.UTF_8),
-            queryAsVector
-        };
-
-        Object rawResult = redisTemplate.execute((RedisConnection connection) ->
-            connection.execute("FT.HYBRID", args)
-        );
+        byte[] queryAsVector = sample.time(Stage.EMBEDDING, () -> getQueryAsVector(query));
 
-        @SuppressWarnings("unchecked")
-        List<Object> results = (rawResult instanceof List) ? (List<Object>) rawResult : null;
+        byte[][] args = HybridQueryBuilder.build(query, queryAsVector, options.orDefaults(defaultHybridOptions), resultLimit);
+        if (logger.isDebugEnabled()) {
+            logger.debug("[RAW] Executing {}", HybridQueryBuilder.describe(args));
+        }
 
-        var hybridSearchEndTime = System.currentTimeMillis();
-        logger.info("[RAW] Hybrid search took {} ms", hybridSearchEndTime - hybridSearchStartTime);
+        Object results = sample.time(Stage.HYBRID, () -> redisTemplate.execute((RedisConnection connection) ->
+            connection.execute("FT.HYBRID", args)
+        ));
 
         // Parse the results
-        List<MovieDTO> movieDTOs = parseRawHybridResults(results);
-        logger.info("[RAW] Found {} movies", movieDTOs.size());
+        List<MovieDTO> movieDTOs = sample.time(Stage.HYDRATE, () -> parseRawHybridResults(results));
 
         return Pair.of(movieDTOs, ResultType.HYBRID);
     }
 
     /**
-     * Escapes special characters in the query for RediSearch.
+     * Runs the FT.HYBRID query of {@link #rawHybridSearch(String, Integer, HybridSearchOptions)} for
+     * many queries at once. Embeddings missing from the caches are computed in a single model
+     * batch, every FT.HYBRID goes out in one pipeline, and the movies of all result pages are
+     * hydrated in another. Each query is timed as a search of its own that spent the whole
+     * batch in every stage. Results come back in the order of the queries.
      */
-    private String escapeQuery(String query) {
-        // Escape special RediSearch characters: ,.<>{}[]"':;!@#$%^&*()-+=~
-        return query.replaceAll("([,.<>{}\\[\\]\"':;!@#$%^&*()\\-+=~\\\\])", "\\\\$1")
-                    .replaceAll("\\s+", "\\ ");  // Escape spaces
-    }
+    public List<Pair<List<MovieDTO>, ResultType>> batchSearch(List<String> queries, Integer limit,
+                                                              HybridSearchOptions options) {
+        if (queries.isEmpty()) {
+            return List.of();
+        }
+        List<SearchMetrics.Sample> samples = new ArrayList<>(queries.size());
+        for (String query : queries) {
+            samples.add(searchMetrics.start(SearchMode.BATCH, query));
+        }
+        final int resultLimit = (limit == null) ? DEFAULT_RESULT_LIMIT : limit;
+        HybridSearchOptions resolved = options.orDefaults(defaultHybridOptions);
 
-    /**
-     * Parses the raw FT.HYBRID results and converts them to MovieDTOs.
-     *
-     * FT.HYBRID RESP3 response format (Map):
-     * - total_results: Integer
-     * - results: Array of maps containing document information (id, extra_attributes, etc.)
-     * - execution_time: double
-     * - warnings: Array
-     *
-     * The response comes as a flat list: [key1, value1, key2, value2, ...]
-     */
-    @SuppressWarnings("unchecked")
-    private List<MovieDTO> parseRawHybridResults(List<Object> results) {
-        List<MovieDTO> movies = new ArrayList<>();
+        long start = System.nanoTime();
+        List<byte[]> queriesAsVectors = queryEmbeddingCache.getAll(queries, keywordService::getOrCreateEmbeddings);
+        start = record(samples, Stage.EMBEDDING, start);
 
-        if (results == null || results.isEmpty()) {
-            logger.warn("[RAW] No results returned from FT.HYBRID");
-            return movies;
+        List<byte[][]> commands = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            commands.add(HybridQueryBuilder.build(queries.get(i), queriesAsVectors.get(i), resolved, resultLimit));
         }
-
-        logger.info("[RAW] Raw result type: {}", results.getClass().getName());
-        logger.info("[RAW] Raw results size: {}", results.size());
-
-        // Parse the flat map response: [key1, value1, key2, value2, ...]
-        // Look for "results" key which contains the actual documents
-        for (int i = 0; i < results.size(); i += 2) {
-            if (i + 1 >= results.size()) break;
-
-            String key = extractString(results.get(i));
-            Object value = results.get(i + 1);
-
-            logger.info("[RAW] Key: {}, Value type: {}", key, value != null ? value.getClass().getName() : "null");
-
-            if ("total_results".equals(key)) {
-                long totalCount = extractLong(value);
-                logger.info("[RAW] Total matching documents: {}", totalCount);
-            } else if ("results".equals(key) && value instanceof List) {
-                List<Object> resultsList = (List<Object>) value;
-                logger.info("[RAW] Results array size: {}", resultsList.size());
-
-                // Each result is a map with: id, extra_attributes, etc.
-                for (int j = 0; j < resultsList.size(); j++) {
-                    Object resultObj = resultsList.get(j);
-                    logger.info("[RAW] Result[{}] type: {}", j, resultObj != null ? resultObj.getClass().getName() : "null");
-
-                    String docId = null;
-                    if (resultObj instanceof List) {
-                        List<Object> resultMap = (List<Object>) resultObj;
-                        logger.info("[RAW] Result[{}] is List with size: {}", j, resultMap.size());
-                        // Log each element in the result list
-                        for (int k = 0; k < resultMap.size(); k++) {
-                            Object elem = resultMap.get(k);
-                            String elemStr = extractString(elem);
-                            logger.info("[RAW] Result[{}][{}] = {} (type: {})", j, k, elemStr,
-                                elem != null ? elem.getClass().getSimpleName() : "null");
-                        }
-                        docId = extractDocumentId(resultMap);
-                    } else if (resultObj instanceof Map) {
-                        Map<Object, Object> resultMap = (Map<Object, Object>) resultObj;
-                        logger.info("[RAW] Result[{}] is Map with keys: {}", j, resultMap.keySet());
-                        Object idObj = resultMap.get("id");
-                        if (idObj == null) {
-                            idObj = resultMap.get("id".getBytes(StandardCharsets.UTF_8));
-                        }
-                        docId = extractString(idObj);
-                    }
-
-                    if (docId != null) {
-                        logger.info("[RAW] Found document: {}", docId);
-                        String idStr = docId.replace("movie:", "");
-                        try {
-                            int movieId = Integer.parseInt(idStr);
-                            movieRepository.findById(movieId).ifPresent(movie ->
-                                movies.add(convertToDTO(movie))
-                            );
-                        } catch (NumberFormatException e) {
-                            logger.warn("[RAW] Could not parse movie ID from key: {}", docId);
-                        }
-                    } else {
-                        logger.warn("[RAW] Could not extract document ID from result[{}]", j);
-                    }
-                }
+        logger.debug("[BATCH] Executing {} FT.HYBRID commands", commands.size());
+        List<Object> replies = SearchCommands.executePipelined(redisTemplate, "FT.HYBRID", commands);
+        start = record(samples, Stage.HYBRID, start);
+
+        List<List<String>> pages = new ArrayList<>(replies.size());
+        for (Object reply : replies) {
+            HybridReplyDecoder.HybridReply decoded = HybridReplyDecoder.decode(reply);
+            if (!decoded.warnings().isEmpty()) {
+                logger.warn("[BATCH] FT.HYBRID warnings: {}", decoded.warnings());
             }
+            pages.add(decoded.keys());
         }
+        List<List<MovieDTO>> movies = movieHydrator.hydrateAll(pages);
+        record(samples, Stage.HYDRATE, start);
 
-        return movies;
+        List<Pair<List<MovieDTO>, ResultType>> results = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            results.add(samples.get(i).finish(Pair.of(movies.get(i), ResultType.HYBRID)));
+        }
+        return results;
     }
 
     /**
-     * Extracts a string from various response types (byte[], String).
+     * Records the time since {@code start} as the stage of every sample, and returns now.
      */
-    private String extractString(Object obj) {
-        if (obj instanceof byte[]) {
-            return new String((byte[]) obj, StandardCharsets.UTF_8);
-        } else if (obj instanceof String) {
-            return (String) obj;
+    private static long record(List<SearchMetrics.Sample> samples, Stage stage, long start) {
+        long now = System.nanoTime();
+        for (SearchMetrics.Sample sample : samples) {
+            sample.record(stage, now - start);
         }
-        return obj != null ? obj.toString() : null;
+        return now;
     }
 
-    /**
-     * Extracts a long value from various response types.
-     */
-    private long extractLong(Object obj) {
-        if (obj instanceof Long) {
-            return (Long) obj;
-        } else if (obj instanceof Integer) {
-            return ((Integer) obj).longValue();
-        } else if (obj instanceof byte[]) {
-            return Long.parseLong(new String((byte[]) obj, StandardCharsets.UTF_8));
-        } else if (obj instanceof String) {
-            return Long.parseLong((String) obj);
-        }
-        return 0;
+    private List<Movie> fullTextSearch(String query, int resultLimit) {
+        return entityStream.of(Movie.class)
+                .filter(Movie$.TITLE.eq(query).or(Movie$.TITLE.containing(query)))
+                .limit(resultLimit)
+                .sorted(Comparator.comparing(Movie::getTitle))
+                .collect(Collectors.toList());
+    }
+
+    private List<Movie> vectorSearch(byte[] queryAsVector, int resultLimit) {
+        return entityStream.of(Movie.class)
+                .filter(Movie$.PLOT_EMBEDDING.knn(resultLimit, queryAsVector))
+                .limit(resultLimit)
+                .sorted(Movie$._PLOT_EMBEDDING_SCORE)
+                .collect(Collectors.toList());
     }
 
     /**
-     * Extracts the document ID from a result map (flat list format).
+     * Merges FTS and VSS hits, keeping FTS order first and dropping duplicates.
      */
-    private String extractDocumentId(List<Object> resultMap) {
-        for (int i = 0; i < resultMap.size(); i += 2) {
-            if (i + 1 >= resultMap.size()) break;
-            String key = extractString(resultMap.get(i));
-            // FT.HYBRID uses "__key" instead of "id" for the document key
-            if ("id".equals(key) || "__key".equals(key)) {
-                return extractString(resultMap.get(i + 1));
+    private Pair<List<MovieDTO>, ResultType> combineResults(List<Movie> ftsMovies, List<Movie> vssMovies,
+                                                            int resultLimit, SearchMetrics.Sample sample) {
+        LinkedHashMap<Integer, Movie> uniqueMoviesMap = new LinkedHashMap<>();
+        ftsMovies.forEach(movie -> uniqueMoviesMap.put(movie.getId(), movie));
+        vssMovies.forEach(movie -> uniqueMoviesMap.putIfAbsent(movie.getId(), movie));
+
+        // Limit and convert combined results to DTOs
+        List<Movie> uniqueMovies = uniqueMoviesMap.values().stream()
+                .limit(resultLimit)
+                .collect(Collectors.toList());
+
+        List<MovieDTO> movieDTOs = sample.time(Stage.HYDRATE, () -> convertToDTOs(uniqueMovies));
+        return Pair.of(movieDTOs, ftsMovies.isEmpty() ? ResultType.VSS : ResultType.HYBRID);
+    }
+
+    private static <T> T await(Future<T> branch) {
+        try {
+            return branch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a search branch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw new IllegalStateException(e.getCause());
         }
-        return null;
     }
 
-    private float[] bytesToFloats(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
-        float[] floats = new float[bytes.length / 4];
-        for (int i = 0; i < floats.length; i++) {
-            floats[i] = buffer.getFloat();
+    /**
+     * Parses the raw FT.HYBRID results and converts them to MovieDTOs.
+     *
+     * The reply is decoded by {@link HybridReplyDecoder}, which only extracts the
+     * document keys; the movies themselves are loaded afterwards with one
+     * pipelined HMGET per key.
+     */
+    private List<MovieDTO> parseRawHybridResults(Object results) {
+        HybridReplyDecoder.HybridReply reply = HybridReplyDecoder.decode(results);
+        if (reply.keys().isEmpty()) {
+            logger.warn("[RAW] No results returned from FT.HYBRID");
+            return List.of();
+        }
+        if (!reply.warnings().isEmpty()) {
+            logger.warn("[RAW] FT.HYBRID warnings: {}", reply.warnings());
         }
-        return floats;
+        logger.debug("[RAW] {} of {} matching documents, executed in {}",
+                reply.keys().size(), reply.totalResults(), reply.executionTime());
+
+        return movieHydrator.hydrate(reply.keys());
     }
 
     private byte[] getQueryAsVector(String query) {
-        return entityStream.of(Keyword.class)
-                .filter(Keyword$.VALUE.containing(query))
-                .findFirst()
-                .map(Keyword::getEmbedding)
-                .orElseGet(() -> keywordRepository.save(new Keyword(query)).getEmbedding());
+        return queryEmbeddingCache.get(query, keywordService::getOrCreateEmbedding);
     }
 
-    private List<MovieDTO> convertToDTOs(List<Movie> movies) {
+    static List<MovieDTO> convertToDTOs(List<Movie> movies) {
         return movies.stream()
-                .map(this::convertToDTO)
+                .map(SearchService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
-    private MovieDTO convertToDTO(Movie movie) {
+    static MovieDTO convertToDTO(Movie movie) {
         return new MovieDTO(
+                movie.getId(),
                 movie.getTitle(),
                 movie.getYear(),
                 movie.getPlot(),
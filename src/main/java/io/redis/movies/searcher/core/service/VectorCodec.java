@@ -0,0 +1,120 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.core.domain.VectorDataType;
+
+/**
+ * Converts embeddings between the float32 blobs produced by the embedder and
+ * the reduced-precision encodings Redis can index. All blobs are little-endian.
+ *
+ * INT8 vectors are scaled per vector so that the largest component maps to 127.
+ * Both indexes use cosine distance, which ignores the scale, so decoded INT8
+ * vectors point the same way as the originals but are not the same length.
+ */
+final class VectorCodec {
+
+    /**
+     * Dimension of the sentence embeddings, as declared on {@code Movie} and {@code Keyword}.
+     */
+    static final int DIMENSION = 384;
+
+    private VectorCodec() {}
+
+    /**
+     * Size in bytes of a {@link #DIMENSION}-long vector in the given encoding.
+     */
+    static int blobSize(VectorDataType type) {
+        return DIMENSION * type.getBytesPerDimension();
+    }
+
+    static byte[] convert(byte[] blob, VectorDataType from, VectorDataType to) {
+        if (from == to) {
+            return blob;
+        }
+        return encode(decode(blob, from), to);
+    }
+
+    static byte[] encode(float[] vector, VectorDataType type) {
+        byte[] blob = new byte[vector.length * type.getBytesPerDimension()];
+        switch (type) {
+            case FLOAT32 -> {
+                for (int i = 0; i < vector.length; i++) {
+                    putInt(blob, i * 4, Float.floatToRawIntBits(vector[i]));
+                }
+            }
+            case FLOAT16 -> {
+                for (int i = 0; i < vector.length; i++) {
+                    putShort(blob, i * 2, Float.floatToFloat16(vector[i]));
+                }
+            }
+            case BFLOAT16 -> {
+                for (int i = 0; i < vector.length; i++) {
+                    int bits = Float.floatToRawIntBits(vector[i]);
+                    // Round to nearest even on the 16 bits being dropped
+                    int rounded = bits + 0x7FFF + ((bits >>> 16) & 1);
+                    putShort(blob, i * 2, (short) (rounded >>> 16));
+                }
+            }
+            case INT8 -> {
+                float maxAbs = 0f;
+                for (float component : vector) {
+                    maxAbs = Math.max(maxAbs, Math.abs(component));
+                }
+                float scale = maxAbs == 0f ? 0f : 127f / maxAbs;
+                for (int i = 0; i < vector.length; i++) {
+                    blob[i] = (byte) Math.round(vector[i] * scale);
+                }
+            }
+        }
+        return blob;
+    }
+
+    static float[] decode(byte[] blob, VectorDataType type) {
+        float[] vector = new float[blob.length / type.getBytesPerDimension()];
+        switch (type) {
+            case FLOAT32 -> {
+                for (int i = 0; i < vector.length; i++) {
+                    vector[i] = Float.intBitsToFloat(getInt(blob, i * 4));
+                }
+            }
+            case FLOAT16 -> {
+                for (int i = 0; i < vector.length; i++) {
+                    vector[i] = Float.float16ToFloat(getShort(blob, i * 2));
+                }
+            }
+            case BFLOAT16 -> {
+                for (int i = 0; i < vector.length; i++) {
+                    vector[i] = Float.intBitsToFloat((getShort(blob, i * 2) & 0xFFFF) << 16);
+                }
+            }
+            case INT8 -> {
+                for (int i = 0; i < vector.length; i++) {
+                    vector[i] = blob[i] / 127f;
+                }
+            }
+        }
+        return vector;
+    }
+
+    private static void putInt(byte[] blob, int offset, int value) {
+        blob[offset] = (byte) value;
+        blob[offset + 1] = (byte) (value >>> 8);
+        blob[offset + 2] = (byte) (value >>> 16);
+        blob[offset + 3] = (byte) (value >>> 24);
+    }
+
+    private static void putShort(byte[] blob, int offset, short value) {
+        blob[offset] = (byte) value;
+        blob[offset + 1] = (byte) (value >>> 8);
+    }
+
+    private static int getInt(byte[] blob, int offset) {
+        return (blob[offset] & 0xFF)
+                | (blob[offset + 1] & 0xFF) << 8
+                | (blob[offset + 2] & 0xFF) << 16
+                | (blob[offset + 3] & 0xFF) << 24;
+    }
+
+    private static short getShort(byte[] blob, int offset) {
+        return (short) ((blob[offset] & 0xFF) | (blob[offset + 1] & 0xFF) << 8);
+    }
+}
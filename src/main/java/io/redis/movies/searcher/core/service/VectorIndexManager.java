@@ -0,0 +1,195 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.SearcherProperties;
+import io.redis.movies.searcher.core.domain.VectorDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.search.schemafields.VectorField.VectorAlgorithm;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reconciles the vector fields of {@code movie_index} and {@code keyword_index}
+ * with {@code searcher.vector-index.*}.
+ *
+ * Redis OM creates both indexes from the entity annotations, which can only hold
+ * compile-time constants. Once the context is up, the manager reads each index
+ * with FT.INFO and, when its vector field does not match the configured
+ * algorithm and parameters, drops the index (keeping the documents) and
+ * recreates it with the same definition and the configured vector field.
+ * Redis then re-indexes the existing hashes in the background.
+ *
+ * When the data type changes as well, the stored vectors no longer match the
+ * index, so the rebuild goes through {@link VectorMigration}, which re-encodes
+ * them and reports memory use and recall before and after.
+ */
+@Component
+public class VectorIndexManager {
+
+    private static final Logger log = LoggerFactory.getLogger(VectorIndexManager.class);
+    private static final List<String> INDEXES = List.of("movie_index", "keyword_index");
+
+    // FT.INFO attribute entries mix key/value pairs with standalone flags
+    private static final Set<String> VALUED_OPTIONS = Set.of(
+            "identifier", "attribute", "type", "WEIGHT", "SEPARATOR", "PHONETIC",
+            "algorithm", "data_type", "dim", "distance_metric", "M", "ef_construction",
+            "ef_runtime", "epsilon", "initial_cap", "block_size");
+
+    private final StringRedisTemplate redisTemplate;
+    private final VectorMigration vectorMigration;
+    private final SearcherProperties.VectorIndex settings;
+
+    public VectorIndexManager(StringRedisTemplate redisTemplate, VectorMigration vectorMigration,
+                              SearcherProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.vectorMigration = vectorMigration;
+        this.settings = properties.vectorIndex();
+        if (settings.algorithm() != VectorAlgorithm.FLAT && settings.algorithm() != VectorAlgorithm.HNSW) {
+            throw new IllegalArgumentException("Unsupported vector algorithm: " + settings.algorithm());
+        }
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void reconcileIndexes() {
+        for (String index : INDEXES) {
+            try {
+                reconcile(index);
+            } catch (Exception ex) {
+                log.error("Could not reconcile the vector field of {}: {}", index, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void reconcile(String index) {
+        Map<String, Object> info = SearchCommands.info(redisTemplate, index);
+        List<Map<String, Object>> attributes = new ArrayList<>();
+        for (Object attribute : (List<?>) info.get("attributes")) {
+            attributes.add(parseAttribute((List<?>) attribute));
+        }
+
+        Map<String, Object> vector = attributes.stream()
+                .filter(attribute -> "VECTOR".equals(attribute.get("type")))
+                .findFirst()
+                .orElse(null);
+        if (vector == null || matchesSettings(vector)) {
+            log.info("Vector field of {} already uses {} {}", index, settings.algorithm(), settings.dataType());
+            return;
+        }
+
+        Map<String, Object> definition = SearchCommands.toMap(info.get("index_definition"));
+        List<String> create = new ArrayList<>(List.of(index));
+        create.addAll(definitionArgs(definition));
+        create.add("SCHEMA");
+        for (Map<String, Object> attribute : attributes) {
+            create.addAll(attributeArgs(attribute));
+        }
+        Runnable recreate = () -> {
+            log.info("Recreating {} with a {} {} vector field", index, settings.algorithm(), settings.dataType());
+            SearchCommands.execute(redisTemplate, "FT.DROPINDEX", index);
+            SearchCommands.execute(redisTemplate, "FT.CREATE", create.toArray(new String[0]));
+        };
+
+        VectorDataType current = VectorDataType.valueOf(String.valueOf(vector.get("data_type")));
+        if (current == settings.dataType()) {
+            recreate.run();
+        } else {
+            String prefix = ((List<?>) definition.get("prefixes")).stream()
+                    .map(SearchCommands::asString)
+                    .findFirst()
+                    .orElseThrow();
+            vectorMigration.migrate(index, prefix, String.valueOf(vector.get("identifier")),
+                    current, settings.dataType(), recreate);
+        }
+    }
+
+    private boolean matchesSettings(Map<String, Object> vector) {
+        String algorithm = String.valueOf(vector.get("algorithm")).toUpperCase(Locale.ROOT);
+        if (!algorithm.equals(settings.algorithm().name())
+                || !settings.dataType().name().equals(vector.get("data_type"))) {
+            return false;
+        }
+        return settings.algorithm() == VectorAlgorithm.FLAT
+                || (String.valueOf(settings.m()).equals(vector.get("M"))
+                && String.valueOf(settings.efConstruction()).equals(vector.get("ef_construction"))
+                && String.valueOf(settings.efRuntime()).equals(vector.get("ef_runtime")));
+    }
+
+    private static List<String> definitionArgs(Map<String, Object> definition) {
+        List<String> args = new ArrayList<>();
+        args.add("ON");
+        args.add(String.valueOf(definition.get("key_type")));
+        if (definition.get("prefixes") instanceof List<?> prefixes && !prefixes.isEmpty()) {
+            args.add("PREFIX");
+            args.add(String.valueOf(prefixes.size()));
+            prefixes.forEach(prefix -> args.add(SearchCommands.asString(prefix)));
+        }
+        if (definition.get("filter") != null) {
+            args.add("FILTER");
+            args.add(String.valueOf(definition.get("filter")));
+        }
+        return args;
+    }
+
+    private List<String> attributeArgs(Map<String, Object> attribute) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(attribute.get("identifier")));
+        args.add("AS");
+        args.add(String.valueOf(attribute.get("attribute")));
+        String type = String.valueOf(attribute.get("type"));
+        args.add(type);
+
+        if ("VECTOR".equals(type)) {
+            List<String> params = new ArrayList<>(List.of(
+                    "TYPE", settings.dataType().name(),
+                    "DIM", String.valueOf(attribute.get("dim")),
+                    "DISTANCE_METRIC", String.valueOf(attribute.get("distance_metric"))));
+            if (settings.algorithm() == VectorAlgorithm.HNSW) {
+                params.addAll(List.of(
+                        "M", String.valueOf(settings.m()),
+                        "EF_CONSTRUCTION", String.valueOf(settings.efConstruction()),
+                        "EF_RUNTIME", String.valueOf(settings.efRuntime())));
+            }
+            args.add(settings.algorithm().name());
+            args.add(String.valueOf(params.size()));
+            args.addAll(params);
+            return args;
+        }
+
+        for (Map.Entry<String, Object> option : attribute.entrySet()) {
+            String name = option.getKey();
+            if (name.equals("identifier") || name.equals("attribute") || name.equals("type")) {
+                continue;
+            }
+            args.add(name);
+            if (option.getValue() != null) {
+                args.add(String.valueOf(option.getValue()));
+            }
+        }
+        return args;
+    }
+
+    /**
+     * Turns an FT.INFO attribute entry into an ordered map; flags map to null.
+     */
+    private static Map<String, Object> parseAttribute(List<?> entry) {
+        Map<String, Object> attribute = new LinkedHashMap<>();
+        for (int i = 0; i < entry.size(); i++) {
+            String name = SearchCommands.asString(entry.get(i));
+            if (VALUED_OPTIONS.contains(name) && i + 1 < entry.size()) {
+                attribute.put(name, SearchCommands.asString(entry.get(++i)));
+            } else {
+                attribute.put(name, null);
+            }
+        }
+        return attribute;
+    }
+}
@@ -0,0 +1,233 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.SearcherProperties;
+import io.redis.movies.searcher.core.domain.VectorDataType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Re-encodes the vectors stored in an index's hashes from one data type to another.
+ *
+ * Before touching anything the job samples stored vectors, runs each one as a KNN
+ * query and keeps the neighbours it gets back. Once the index is recreated with the
+ * new data type and every hash is re-encoded, the same queries are encoded the new
+ * way and run again: recall@K is the share of the previous neighbours still found.
+ * The sampled document itself is left out of both lists, since it always ranks first.
+ * Redis memory and the size of the vector index are captured on both sides.
+ */
+@Component
+public class VectorMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(VectorMigration.class);
+
+    /**
+     * Outcome of one migration, also written to the log.
+     */
+    public record Report(String index, VectorDataType from, VectorDataType to, long documents,
+                         long usedMemoryBefore, long usedMemoryAfter,
+                         double vectorIndexMbBefore, double vectorIndexMbAfter,
+                         int k, double recallAtK, Duration took) {}
+
+    private record Sample(String key, float[] vector, List<String> neighbours) {}
+
+    private final StringRedisTemplate redisTemplate;
+    private final SearcherProperties.VectorIndex.Migration settings;
+
+    public VectorMigration(StringRedisTemplate redisTemplate, SearcherProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.settings = properties.vectorIndex().migration();
+    }
+
+    /**
+     * Moves every {@code prefix*} hash from one encoding of {@code field} to the other.
+     * {@code recreateIndex} must drop the index and create it again with the new data type.
+     */
+    public Report migrate(String index, String prefix, String field,
+                          VectorDataType from, VectorDataType to, Runnable recreateIndex) {
+        long start = System.nanoTime();
+        log.info("Migrating {} vectors of {} from {} to {}", field, index, from, to);
+
+        long usedMemoryBefore = usedMemory();
+        double vectorIndexMbBefore = vectorIndexMb(index);
+        List<Sample> samples = sample(index, prefix, field, from);
+
+        recreateIndex.run();
+        long documents = reencodeAll(prefix, field, from, to);
+        awaitIndexing(index);
+
+        double recall = recall(index, field, to, samples);
+        Report report = new Report(index, from, to, documents,
+                usedMemoryBefore, usedMemory(), vectorIndexMbBefore, vectorIndexMb(index),
+                settings.recallK(), recall, Duration.ofNanos(System.nanoTime() - start));
+
+        log.info("Migrated {} documents of {} from {} to {} in {} ms", documents, index, from, to,
+                report.took().toMillis());
+        log.info("  used_memory: {} -> {} bytes, vector index: {} -> {} MB",
+                report.usedMemoryBefore(), report.usedMemoryAfter(),
+                String.format("%.2f", report.vectorIndexMbBefore()),
+                String.format("%.2f", report.vectorIndexMbAfter()));
+        log.info("  recall@{} against the previous index: {} ({} sampled queries)",
+                report.k(), String.format("%.3f", report.recallAtK()), samples.size());
+        return report;
+    }
+
+    /**
+     * Re-encodes {@code field} on the given hashes. Values whose size does not match
+     * {@code from} are left alone, so running it twice on the same keys is harmless.
+     */
+    public int reencode(List<String> keys, String field, VectorDataType from, VectorDataType to) {
+        if (keys.isEmpty() || from == to) {
+            return 0;
+        }
+        byte[] fieldBytes = field.getBytes(StandardCharsets.UTF_8);
+        // Read the blobs as raw bytes, the template would otherwise decode them as UTF-8 strings
+        List<Object> blobs = redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (String key : keys) {
+                connection.hashCommands().hGet(key.getBytes(StandardCharsets.UTF_8), fieldBytes);
+            }
+            return null;
+        }, RedisSerializer.byteArray());
+
+        int expectedSize = VectorCodec.blobSize(from);
+        List<byte[]> keyBytes = new ArrayList<>();
+        List<byte[]> encoded = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (blobs.get(i) instanceof byte[] blob && blob.length == expectedSize) {
+                keyBytes.add(keys.get(i).getBytes(StandardCharsets.UTF_8));
+                encoded.add(VectorCodec.convert(blob, from, to));
+            }
+        }
+        if (encoded.isEmpty()) {
+            return 0;
+        }
+        redisTemplate.executePipelined((RedisConnection connection) -> {
+            for (int i = 0; i < encoded.size(); i++) {
+                connection.hashCommands().hSet(keyBytes.get(i), fieldBytes, encoded.get(i));
+            }
+            return null;
+        });
+        return encoded.size();
+    }
+
+    private long reencodeAll(String prefix, String field, VectorDataType from, VectorDataType to) {
+        long reencoded = 0;
+        List<String> batch = new ArrayList<>(settings.batchSize());
+        ScanOptions scanOptions = ScanOptions.scanOptions().match(prefix + "*").count(settings.batchSize()).build();
+        try (Cursor<String> cursor = redisTemplate.scan(scanOptions)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == settings.batchSize()) {
+                    reencoded += reencode(batch, field, from, to);
+                    batch.clear();
+                }
+            }
+        }
+        reencoded += reencode(batch, field, from, to);
+        return reencoded;
+    }
+
+    private List<Sample> sample(String index, String prefix, String field, VectorDataType type) {
+        List<Sample> samples = new ArrayList<>();
+        ScanOptions scanOptions = ScanOptions.scanOptions().match(prefix + "*").count(settings.batchSize()).build();
+        try (Cursor<String> cursor = redisTemplate.scan(scanOptions)) {
+            while (cursor.hasNext() && samples.size() < settings.recallSamples()) {
+                String key = cursor.next();
+                byte[] blob = redisTemplate.execute((RedisConnection connection) -> connection.hashCommands()
+                        .hGet(key.getBytes(StandardCharsets.UTF_8), field.getBytes(StandardCharsets.UTF_8)));
+                if (blob != null && blob.length == VectorCodec.blobSize(type)) {
+                    float[] vector = VectorCodec.decode(blob, type);
+                    samples.add(new Sample(key, vector, knn(index, field, key, blob)));
+                }
+            }
+        }
+        return samples;
+    }
+
+    private double recall(String index, String field, VectorDataType type, List<Sample> samples) {
+        long expected = 0;
+        long found = 0;
+        for (Sample sample : samples) {
+            Set<String> neighbours = new HashSet<>(knn(index, field, sample.key(), VectorCodec.encode(sample.vector(), type)));
+            expected += sample.neighbours().size();
+            found += sample.neighbours().stream().filter(neighbours::contains).count();
+        }
+        return expected == 0 ? 1.0 : (double) found / expected;
+    }
+
+    /**
+     * Returns the keys of the K nearest neighbours of the vector, leaving out {@code self}.
+     */
+    private List<String> knn(String index, String field, String self, byte[] vector) {
+        int k = settings.recallK();
+        String count = Integer.toString(k + 1);
+        Object reply = SearchCommands.execute(redisTemplate, "FT.SEARCH",
+                bytes(index), bytes("*=>[KNN " + count + " @" + field + " $BLOB]"),
+                bytes("PARAMS"), bytes("2"), bytes("BLOB"), vector,
+                bytes("NOCONTENT"), bytes("LIMIT"), bytes("0"), bytes(count),
+                bytes("DIALECT"), bytes("2"));
+
+        List<String> keys = new ArrayList<>(k + 1);
+        if (reply instanceof List<?> flat) {
+            // [total, key1, key2, ...]
+            for (int i = 1; i < flat.size(); i++) {
+                keys.add(SearchCommands.asString(flat.get(i)));
+            }
+        } else if (reply instanceof Map<?, ?>) {
+            Object results = SearchCommands.toMap(reply).get("results");
+            if (results instanceof List<?> entries) {
+                for (Object entry : entries) {
+                    keys.add(SearchCommands.asString(SearchCommands.toMap(entry).get("id")));
+                }
+            }
+        }
+        keys.remove(self);
+        return keys.size() > k ? keys.subList(0, k) : keys;
+    }
+
+    private void awaitIndexing(String index) {
+        long deadline = System.nanoTime() + settings.indexingTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            Map<String, Object> info = SearchCommands.info(redisTemplate, index);
+            if (SearchCommands.asDouble(info.get("indexing")) == 0.0) {
+                return;
+            }
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.warn("{} is still indexing after {}, recall is measured on a partial index",
+                index, settings.indexingTimeout());
+    }
+
+    private long usedMemory() {
+        Properties memory = redisTemplate.execute((RedisConnection connection) ->
+                connection.serverCommands().info("memory"));
+        return memory == null ? 0 : Long.parseLong(memory.getProperty("used_memory", "0"));
+    }
+
+    private double vectorIndexMb(String index) {
+        return SearchCommands.asDouble(SearchCommands.info(redisTemplate, index).get("vector_index_sz_mb"));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,121 @@
+package io.redis.movies.searcher;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load harness comparing the blocking {@code /search} handler with {@code /search/async}
+ * over HTTP, so request threads are part of what is measured.
+ *
+ * Both endpoints run the same FT.HYBRID query ({@code mode=RAW} for the blocking one)
+ * with warm embedding caches and the response cache off. Each is driven closed loop
+ * at every concurrency in {@code -Dload.endpoint.concurrency}, and next to latency and
+ * throughput the run reports its {@link Footprint}: peak platform threads and heap
+ * allocated per request. Subclasses choose how Tomcat runs the blocking handlers;
+ * {@code -Dload.tomcat-threads} caps its pool to reproduce thread starvation.
+ *
+ * Excluded from the default build like {@link SearchLoadTest}; run with {@code mvn -Pload test}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "searcher.response-cache.enabled=false",
+        "server.tomcat.threads.max=${load.tomcat-threads:200}"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Tag("load")
+abstract class AbstractEndpointLoadTest extends AbstractRedisContainerTest {
+
+    private static final int REQUESTS = Integer.getInteger("load.requests", 500);
+    private static final int LIMIT = Integer.getInteger("load.limit", 10);
+    private static final List<Integer> CONCURRENCY = Arrays.stream(
+                    System.getProperty("load.endpoint.concurrency", "16,64,256").split(","))
+            .map(String::trim)
+            .map(Integer::valueOf)
+            .toList();
+    private static final Path RESULTS = Path.of("target", "load-results");
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private List<String> queries;
+    private final List<String> summaries = new ArrayList<>();
+
+    /**
+     * How Tomcat runs the blocking handlers, used to name the scenarios.
+     */
+    abstract String threading();
+
+    @BeforeAll
+    void loadQueries() throws IOException {
+        queries = LoadGenerator.queries();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/search?mode=RAW", "/search/async?"})
+    void closedLoop(String endpoint) throws IOException, InterruptedException {
+        queries.forEach(query -> get(endpoint, query));
+
+        for (int concurrency : CONCURRENCY) {
+            Footprint.Sampler sampler = Footprint.start();
+            LoadResult result = LoadGenerator.closedLoop(threading() + " " + endpoint + " c=" + concurrency,
+                    queries, REQUESTS, concurrency, query -> get(endpoint, query));
+            Footprint footprint = sampler.stop(REQUESTS);
+
+            result.writeDistribution(RESULTS);
+            summaries.add(result.summary() + System.lineSeparator() + footprint.summary());
+            System.out.println(result.summary());
+            System.out.println(footprint.summary());
+            assertEquals(0, result.errors(), "Searches failed during " + result.scenario());
+        }
+    }
+
+    @AfterAll
+    void printResults() {
+        System.out.println();
+        System.out.println(LoadResult.HEADER);
+        summaries.stream().sorted().forEach(System.out::println);
+        System.out.println();
+    }
+
+    private void get(String endpoint, String query) {
+        String separator = endpoint.endsWith("?") ? "" : "&";
+        URI uri = URI.create("http://localhost:" + port + endpoint + separator
+                + "query=" + URLEncoder.encode(query, StandardCharsets.UTF_8) + "&limit=" + LIMIT);
+        try {
+            HttpResponse<Void> response = http.send(HttpRequest.newBuilder(uri).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(endpoint + " answered " + response.statusCode());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
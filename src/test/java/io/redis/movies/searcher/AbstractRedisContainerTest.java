@@ -0,0 +1,32 @@
+package io.redis.movies.searcher;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.BindMode;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Base class for tests that need a Redis 8.6.0 instance with hybrid search
+ * support. Movies are pre-loaded from dump.rdb. The container is shared by
+ * every test class in the JVM.
+ */
+abstract class AbstractRedisContainerTest {
+
+    private static final int REDIS_PORT = 6379;
+
+    static GenericContainer<?> redisContainer = new GenericContainer<>(
+            DockerImageName.parse("redis:8.6.0"))
+            .withExposedPorts(REDIS_PORT)
+            .withFileSystemBind("data/dump.rdb", "/data/dump.rdb", BindMode.READ_ONLY);
+
+    static {
+        redisContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", redisContainer::getHost);
+        registry.add("spring.data.redis.port", () -> redisContainer.getMappedPort(REDIS_PORT));
+    }
+}
@@ -0,0 +1,53 @@
+package io.redis.movies.searcher;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * What a load run cost the JVM besides time: the most platform threads alive at
+ * once, and the heap allocated per request by every thread of the JVM, load
+ * generator included. Virtual threads do not count as platform threads; their
+ * stacks live on the heap and show up in the allocation instead.
+ */
+record Footprint(int peakPlatformThreads, long allocatedBytesPerRequest) {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    String summary() {
+        return String.format("  peak platform threads %d, allocated %.1f KB/request",
+                peakPlatformThreads, allocatedBytesPerRequest / 1024.0);
+    }
+
+    /**
+     * Starts sampling; the returned sampler must be stopped once the run is over.
+     */
+    static Sampler start() {
+        return new Sampler();
+    }
+
+    static final class Sampler {
+
+        private final long allocatedBefore = THREADS.getTotalThreadAllocatedBytes();
+        private volatile boolean running = true;
+        private volatile int peakThreads = THREADS.getThreadCount();
+        private final Thread sampler = Thread.ofPlatform().daemon(true).name("footprint-sampler").start(() -> {
+            while (running) {
+                peakThreads = Math.max(peakThreads, THREADS.getThreadCount());
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        private Sampler() {}
+
+        Footprint stop(int requests) throws InterruptedException {
+            running = false;
+            sampler.join();
+            long allocated = THREADS.getTotalThreadAllocatedBytes() - allocatedBefore;
+            return new Footprint(peakThreads, requests == 0 ? 0 : allocated / requests);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.redis.movies.searcher;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Replays a query corpus against a search call and records every latency.
+ *
+ * Closed loop: a fixed number of workers each send the next query as soon as the
+ * previous one returns, so throughput is whatever the system sustains.
+ *
+ * Open loop: requests are released on a fixed schedule regardless of how many are
+ * still in flight, each on its own virtual thread. Latency is measured from the
+ * scheduled start rather than the actual one, so time spent queued behind a slow
+ * request is counted instead of hidden (coordinated omission).
+ */
+final class LoadGenerator {
+
+    private LoadGenerator() {}
+
+    /**
+     * Reads the query corpus from {@code load/queries.txt}, skipping blank lines and comments.
+     */
+    static List<String> queries() throws IOException {
+        try (var reader = new BufferedReader(new InputStreamReader(
+                LoadGenerator.class.getResourceAsStream("/load/queries.txt"), StandardCharsets.UTF_8))) {
+            return reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+        }
+    }
+
+    static LoadResult closedLoop(String scenario, List<String> queries, int requests, int concurrency,
+                                 Consumer<String> search) {
+        Histogram histogram = new ConcurrentHistogram(3);
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                workers.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        call(search, queries.get(i % queries.size()), errors);
+                        histogram.recordValue(System.nanoTime() - sent);
+                    }
+                });
+            }
+        }
+        return new LoadResult(scenario, requests, errors.get(), System.nanoTime() - start, histogram);
+    }
+
+    static LoadResult openLoop(String scenario, List<String> queries, int requests, double ratePerSecond,
+                               Consumer<String> search) {
+        Histogram histogram = new ConcurrentHistogram(3);
+        AtomicInteger errors = new AtomicInteger();
+        long intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+
+        long start = System.nanoTime();
+        try (ExecutorService requestThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                long scheduled = start + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                String query = queries.get(i % queries.size());
+                requestThreads.submit(() -> {
+                    call(search, query, errors);
+                    histogram.recordValue(System.nanoTime() - scheduled);
+                });
+            }
+        }
+        return new LoadResult(scenario, requests, errors.get(), System.nanoTime() - start, histogram);
+    }
+
+    private static void call(Consumer<String> search, String query, AtomicInteger errors) {
+        try {
+            search.accept(query);
+        } catch (RuntimeException ex) {
+            errors.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.redis.movies.searcher;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Latency distribution and throughput of one load run. Latencies are recorded in
+ * nanoseconds and reported in milliseconds.
+ */
+record LoadResult(String scenario, int requests, int errors, long elapsedNanos, Histogram histogram) {
+
+    static final String HEADER = String.format("%-40s %8s %7s %10s %9s %9s %9s %9s %9s",
+            "SCENARIO", "REQUESTS", "ERRORS", "REQ/S", "P50 MS", "P95 MS", "P99 MS", "P99.9 MS", "MAX MS");
+
+    double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    double throughput() {
+        return requests / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    String summary() {
+        return String.format("%-40s %8d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                scenario, requests, errors, throughput(),
+                percentileMillis(50), percentileMillis(95), percentileMillis(99), percentileMillis(99.9),
+                histogram.getMaxValue() / 1_000_000.0);
+    }
+
+    /**
+     * Writes the full percentile distribution in HdrHistogram's .hgrm format, which
+     * the HdrHistogram plotter can chart and overlay.
+     */
+    void writeDistribution(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(scenario.replaceAll("[^A-Za-z0-9.-]+", "-") + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package io.redis.movies.searcher;
+
+/**
+ * Blocking handlers on Tomcat's platform thread pool, the default.
+ */
+class PlatformThreadsEndpointLoadTest extends AbstractEndpointLoadTest {
+
+    @Override
+    String threading() {
+        return "platform";
+    }
+}
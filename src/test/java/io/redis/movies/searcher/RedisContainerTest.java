@@ -1,29 +1,43 @@
 package io.redis.movies.searcher;
 
 import com.redis.om.spring.search.stream.EntityStream;
+import io.redis.movies.searcher.core.domain.JobState;
 import io.redis.movies.searcher.core.domain.Keyword;
 import io.redis.movies.searcher.core.domain.Keyword$;
 import io.redis.movies.searcher.core.domain.Movie;
 import io.redis.movies.searcher.core.domain.Movie$;
+import io.redis.movies.searcher.core.domain.ResultType;
+import io.redis.movies.searcher.core.domain.VectorDataType;
+import io.redis.movies.searcher.core.dto.HybridSearchOptions;
+import io.redis.movies.searcher.core.dto.MaintenanceStatus;
+import io.redis.movies.searcher.core.dto.MovieDTO;
+import io.redis.movies.searcher.core.dto.Suggestions;
 import io.redis.movies.searcher.core.repository.KeywordRepository;
 import io.redis.movies.searcher.core.repository.MovieRepository;
+import io.redis.movies.searcher.core.service.KeywordService;
+import io.redis.movies.searcher.core.service.LegacyKeywordPurge;
+import io.redis.movies.searcher.core.service.MaintenanceJob;
+import io.redis.movies.searcher.core.service.MovieSuggestions;
+import io.redis.movies.searcher.core.service.SearchService;
+import io.redis.movies.searcher.core.service.VectorMigration;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.DynamicPropertyRegistry;
-import org.springframework.test.context.DynamicPropertySource;
-import org.testcontainers.containers.GenericContainer;
-import org.testcontainers.containers.BindMode;
-import org.testcontainers.utility.DockerImageName;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -35,33 +49,37 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 @SpringBootTest
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-class RedisContainerTest {
+class RedisContainerTest extends AbstractRedisContainerTest {
 
-    private static final int REDIS_PORT = 6379;
+    @Autowired
+    private MovieRepository movieRepository;
 
-    static GenericContainer<?> redisContainer = new GenericContainer<>(
-            DockerImageName.parse("redis:8.6.0"))
-            .withExposedPorts(REDIS_PORT)
-            .withFileSystemBind("data/dump.rdb", "/data/dump.rdb", BindMode.READ_ONLY);
+    @Autowired
+    private KeywordRepository keywordRepository;
 
-    static {
-        redisContainer.start();
-    }
+    @Autowired
+    private EntityStream entityStream;
 
-    @DynamicPropertySource
-    static void redisProperties(DynamicPropertyRegistry registry) {
-        registry.add("spring.data.redis.host", redisContainer::getHost);
-        registry.add("spring.data.redis.port", () -> redisContainer.getMappedPort(REDIS_PORT));
-    }
+    @Autowired
+    private List<MaintenanceJob> maintenanceJobs;
 
     @Autowired
-    private MovieRepository movieRepository;
+    private SearchService searchService;
 
     @Autowired
-    private KeywordRepository keywordRepository;
+    private MovieSuggestions movieSuggestions;
 
     @Autowired
-    private EntityStream entityStream;
+    private VectorMigration vectorMigration;
+
+    @Autowired
+    private LegacyKeywordPurge legacyKeywordPurge;
+
+    @Autowired
+    private KeywordService keywordService;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
 
     private int totalMoviesLoaded = 0;
 
@@ -152,6 +170,201 @@ class RedisContainerTest {
         System.out.println("✅ All 3 Back to the Future movies found in search results!");
     }
 
+    @Test
+    void testReencodeRoundTripsFloat32ToFloat16() {
+        // Work on a copy outside movie_index, so the other tests keep searching FLOAT32 vectors
+        byte[] field = "plotEmbedding".getBytes(StandardCharsets.UTF_8);
+        byte[] copy = "migration-test:1".getBytes(StandardCharsets.UTF_8);
+        byte[] movie = ("movie:" + movieRepository.findAll().iterator().next().getId()).getBytes(StandardCharsets.UTF_8);
+        byte[] original = redisTemplate.execute((RedisConnection connection) -> connection.hashCommands().hGet(movie, field));
+        assertNotNull(original);
+        assertEquals(VectorDataType.FLOAT32.getBytesPerDimension() * 384, original.length);
+        redisTemplate.execute((RedisConnection connection) -> connection.hashCommands().hSet(copy, field, original));
+
+        try {
+            List<String> keys = List.of("migration-test:1");
+            assertEquals(1, vectorMigration.reencode(keys, "plotEmbedding", VectorDataType.FLOAT32, VectorDataType.FLOAT16));
+            byte[] half = redisTemplate.execute((RedisConnection connection) -> connection.hashCommands().hGet(copy, field));
+            assertEquals(VectorDataType.FLOAT16.getBytesPerDimension() * 384, half.length);
+
+            // Already FLOAT16, so a second run leaves it alone
+            assertEquals(0, vectorMigration.reencode(keys, "plotEmbedding", VectorDataType.FLOAT32, VectorDataType.FLOAT16));
+
+            assertEquals(1, vectorMigration.reencode(keys, "plotEmbedding", VectorDataType.FLOAT16, VectorDataType.FLOAT32));
+            byte[] restored = redisTemplate.execute((RedisConnection connection) -> connection.hashCommands().hGet(copy, field));
+            float[] expected = bytesToFloats(original);
+            float[] actual = bytesToFloats(restored);
+            assertEquals(expected.length, actual.length);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], actual[i], 1e-3, "component " + i);
+            }
+        } finally {
+            redisTemplate.delete("migration-test:1");
+        }
+    }
+
+    @Test
+    void testBatchSearchMatchesOneRawSearchPerQuery() {
+        List<String> queries = List.of("Back to the Future", "dude who teaches rock", "Back to the Future", "alien");
+
+        var batch = searchService.batchSearch(queries, 3, HybridSearchOptions.DEFAULTS);
+
+        assertEquals(queries.size(), batch.size());
+        for (int i = 0; i < queries.size(); i++) {
+            var single = searchService.rawHybridSearch(queries.get(i), 3, HybridSearchOptions.DEFAULTS);
+            assertEquals(single.getSecond(), batch.get(i).getSecond(), "Result type of '" + queries.get(i) + "'");
+            assertEquals(single.getFirst().stream().map(MovieDTO::id).toList(),
+                    batch.get(i).getFirst().stream().map(MovieDTO::id).toList(),
+                    "Movies found for '" + queries.get(i) + "'");
+        }
+    }
+
+    @Test
+    void testStreamingSearchSendsTheManualResultsStageByStage() throws Exception {
+        for (String query : List.of("Back to the Future", "dude who teaches rock")) {
+            List<ResultType> stages = new ArrayList<>();
+            List<MovieDTO> streamed = new ArrayList<>();
+            CompletableFuture<ResultType> completed = new CompletableFuture<>();
+
+            searchService.streamingSearch(query, 4, (stage, movies) -> {
+                stages.add(stage);
+                streamed.addAll(movies);
+            }, completed::complete, completed::completeExceptionally);
+            ResultType resultType = completed.get(30, TimeUnit.SECONDS);
+
+            var manual = searchService.manualHybridSearch(query, 4);
+            assertEquals(manual.getSecond(), resultType, "Result type of '" + query + "'");
+            assertEquals(manual.getFirst().stream().map(MovieDTO::id).toList(),
+                    streamed.stream().map(MovieDTO::id).toList(), "Movies streamed for '" + query + "'");
+            assertFalse(stages.isEmpty());
+            assertTrue(stages.indexOf(ResultType.VSS) < 0 || stages.indexOf(ResultType.FTS) < stages.indexOf(ResultType.VSS),
+                    "FTS hits should come before vector hits: " + stages);
+        }
+    }
+
+    @Test
+    void testRerankedSearchOrdersCandidatesByPlotSimilarity() {
+        // No title matches, so re-ranking the over-fetched KNN hits must give the top KNN hits back
+        var vector = searchService.manualHybridSearch("dude who teaches rock", 4);
+        var reranked = searchService.rerankedHybridSearch("dude who teaches rock", 4);
+        assertEquals(ResultType.VSS, reranked.getSecond());
+        assertEquals(vector.getFirst().stream().map(MovieDTO::id).toList(),
+                reranked.getFirst().stream().map(MovieDTO::id).toList());
+
+        var titled = searchService.rerankedHybridSearch("Back to the Future", 3);
+        assertEquals(3, titled.getFirst().size());
+        assertTrue(titled.getFirst().stream().anyMatch(movie -> movie.title().contains("Back to the Future")),
+                "Expected a Back to the Future movie in " + titled.getFirst());
+    }
+
+    @Test
+    void testSuggestionsCompleteTitlesAndActors() throws Exception {
+        // The backfill's first full scan adds every movie to the suggestions once the application is ready
+        Suggestions suggestions = movieSuggestions.suggest("back to the fu", 5, false);
+        for (int attempt = 0; attempt < 300 && suggestions.titles().size() < 3; attempt++) {
+            Thread.sleep(100);
+            suggestions = movieSuggestions.suggest("back to the fu", 5, false);
+        }
+
+        assertTrue(suggestions.titles().containsAll(List.of(
+                "Back to the Future", "Back to the Future Part II", "Back to the Future Part III")),
+                "Title suggestions: " + suggestions.titles());
+
+        Movie movie = entityStream.of(Movie.class)
+                .filter(Movie$.TITLE.eq("Back to the Future"))
+                .findFirst()
+                .orElseThrow();
+        String actor = movie.getActors().get(0);
+        assertTrue(movieSuggestions.suggest(actor, 5, false).actors().contains(actor),
+                "Expected '" + actor + "' among the actor suggestions");
+        assertTrue(movieSuggestions.suggest("back to tha fu", 5, true).titles().contains("Back to the Future"),
+                "Fuzzy suggestions should forgive one typo");
+    }
+
+    @Test
+    void testPlotlessCleanupStopsSuggestingTheTitlesItDeletes() throws InterruptedException {
+        String key = "movie:" + (Integer.MAX_VALUE - 1);
+        redisTemplate.opsForHash().putAll(key, Map.of("id", Integer.toString(Integer.MAX_VALUE - 1),
+                "title", "Zyzzyva Without A Plot"));
+        redisTemplate.execute((RedisConnection connection) -> connection.execute("FT.SUGADD",
+                "suggest:titles".getBytes(StandardCharsets.UTF_8),
+                "Zyzzyva Without A Plot".getBytes(StandardCharsets.UTF_8), "1".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(List.of("Zyzzyva Without A Plot"), movieSuggestions.suggest("zyzzyva", 5, false).titles());
+
+        MaintenanceJob job = maintenanceJobs.stream()
+                .filter(candidate -> candidate.name().equals("plotless-movies"))
+                .findFirst().orElseThrow();
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (!job.start(false) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        while (JobState.RUNNING.name().equals(job.status().state()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertEquals(JobState.COMPLETED.name(), job.status().state(), "Cleanup did not complete: " + job.status());
+        assertEquals(1, job.status().deleted());
+        assertFalse(redisTemplate.hasKey(key));
+        assertTrue(movieSuggestions.suggest("zyzzyva", 5, false).titles().isEmpty());
+    }
+
+    @Test
+    void testLegacyKeywordsArePurgedAndDigestKeywordsKept() {
+        String legacy = "keyword:01HV8Q3ZLEGACYKEYWORD0000";
+        String current = "keyword:" + KeywordService.idFor("purge test");
+        redisTemplate.opsForHash().putAll(legacy, Map.of("id", "01HV8Q3ZLEGACYKEYWORD0000", "value", "purge test"));
+        redisTemplate.opsForHash().putAll(current, Map.of("id", KeywordService.idFor("purge test"), "value", "purge test"));
+
+        try {
+            assertTrue(legacyKeywordPurge.purge() >= 1);
+            assertFalse(redisTemplate.hasKey(legacy));
+            assertTrue(redisTemplate.hasKey(current));
+        } finally {
+            redisTemplate.delete(List.of(legacy, current));
+        }
+    }
+
+    @Test
+    void testKeywordHitsRefreshTtlAndLastUse() {
+        String id = KeywordService.idFor("lru test");
+        String key = "keyword:" + id;
+        String missing = KeywordService.idFor("lru test miss");
+        redisTemplate.opsForHash().putAll(key, Map.of("id", id, "value", "lru test"));
+        redisTemplate.expire(key, Duration.ofSeconds(5));
+        redisTemplate.opsForZSet().add("keywords:created", id, 1);
+
+        try {
+            keywordService.findEmbedding("lru test");
+            keywordService.findEmbedding("lru test miss");
+
+            assertTrue(redisTemplate.getExpire(key) > 5, "A hit should push the TTL back out");
+            assertTrue(redisTemplate.opsForZSet().score("keywords:created", id) > 1,
+                    "A hit should move the keyword to the end of the eviction order");
+            assertNull(redisTemplate.opsForZSet().score("keywords:created", missing),
+                    "A miss should not be logged");
+        } finally {
+            redisTemplate.delete(key);
+            redisTemplate.opsForZSet().remove("keywords:created", id);
+        }
+    }
+
+    @Test
+    void testCleanupJobsFindNothingToDeleteInTheLoadedMovies() throws InterruptedException {
+        for (MaintenanceJob job : maintenanceJobs) {
+            assertTrue(job.start(true), job.name() + " should not be running yet");
+            long deadline = System.currentTimeMillis() + 60_000;
+            while (JobState.RUNNING.name().equals(job.status().state()) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+
+            MaintenanceStatus status = job.status();
+            assertEquals(JobState.COMPLETED.name(), status.state(), job.name() + " did not complete: " + status);
+            assertTrue(status.scanned() >= totalMoviesLoaded, job.name() + " scanned " + status.scanned() + " movies");
+            assertEquals(0, status.matched(), job.name() + " matched movies in the cleaned dataset");
+            assertEquals(0, status.deleted());
+        }
+    }
+
     private byte[] getQueryAsVector(String query) {
         return entityStream.of(Keyword.class)
                 .filter(Keyword$.VALUE.containing(query))
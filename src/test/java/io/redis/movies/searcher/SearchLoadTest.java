@@ -0,0 +1,132 @@
+package io.redis.movies.searcher;
+
+import io.redis.movies.searcher.core.domain.SearchMode;
+import io.redis.movies.searcher.core.dto.HybridSearchOptions;
+import io.redis.movies.searcher.core.service.QueryEmbeddingCache;
+import io.redis.movies.searcher.core.service.SearchService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load harness comparing the search modes end to end against the dump.rdb catalog.
+ *
+ * Every mode is driven closed loop at a fixed concurrency and open loop at each
+ * arrival rate, once with cold embedding caches (in-process cache cleared and
+ * stored keywords deleted, one pass over the corpus so every query is embedded)
+ * and once warm (every query run once beforehand). Calls go to SearchService
+ * directly, so the response cache is not involved.
+ *
+ * Excluded from the default build; run it with {@code mvn -Pload test} and tune it with
+ * {@code -Dload.concurrency}, {@code -Dload.rates}, {@code -Dload.requests} and {@code -Dload.limit}.
+ * Percentile distributions are written to {@code target/load-results}.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Tag("load")
+class SearchLoadTest extends AbstractRedisContainerTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 8);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 500);
+    private static final int LIMIT = Integer.getInteger("load.limit", 10);
+    private static final List<Double> RATES = Arrays.stream(System.getProperty("load.rates", "10,40").split(","))
+            .map(String::trim)
+            .map(Double::valueOf)
+            .toList();
+    private static final Path RESULTS = Path.of("target", "load-results");
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private QueryEmbeddingCache queryEmbeddingCache;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    private List<String> queries;
+    private final List<LoadResult> results = new CopyOnWriteArrayList<>();
+
+    @BeforeAll
+    void loadQueries() throws IOException {
+        queries = LoadGenerator.queries();
+    }
+
+    @ParameterizedTest
+    @EnumSource(SearchMode.class)
+    void closedLoop(SearchMode mode) throws IOException {
+        clearEmbeddingCaches();
+        record(LoadGenerator.closedLoop(mode + " closed c=" + CONCURRENCY + " cold",
+                queries, queries.size(), CONCURRENCY, query -> search(mode, query)));
+
+        prime(mode);
+        record(LoadGenerator.closedLoop(mode + " closed c=" + CONCURRENCY + " warm",
+                queries, REQUESTS, CONCURRENCY, query -> search(mode, query)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(SearchMode.class)
+    void openLoop(SearchMode mode) throws IOException {
+        for (double rate : RATES) {
+            clearEmbeddingCaches();
+            record(LoadGenerator.openLoop(mode + " open " + rate + "/s cold",
+                    queries, queries.size(), rate, query -> search(mode, query)));
+
+            prime(mode);
+            record(LoadGenerator.openLoop(mode + " open " + rate + "/s warm",
+                    queries, REQUESTS, rate, query -> search(mode, query)));
+        }
+    }
+
+    @AfterAll
+    void printResults() {
+        List<LoadResult> sorted = new ArrayList<>(results);
+        sorted.sort((a, b) -> a.scenario().compareTo(b.scenario()));
+        System.out.println();
+        System.out.println(LoadResult.HEADER);
+        sorted.forEach(result -> System.out.println(result.summary()));
+        System.out.println();
+    }
+
+    private void search(SearchMode mode, String query) {
+        searchService.search(mode, query, LIMIT, HybridSearchOptions.DEFAULTS);
+    }
+
+    private void record(LoadResult result) throws IOException {
+        results.add(result);
+        result.writeDistribution(RESULTS);
+        System.out.println(result.summary());
+        assertEquals(0, result.errors(), "Searches failed during " + result.scenario());
+    }
+
+    private void prime(SearchMode mode) {
+        queries.forEach(query -> search(mode, query));
+    }
+
+    private void clearEmbeddingCaches() {
+        queryEmbeddingCache.clear();
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match("keyword:*").count(1000).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+        keys.add("keywords:created");
+        redisTemplate.unlink(keys);
+    }
+}
@@ -0,0 +1,15 @@
+package io.redis.movies.searcher;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Blocking handlers on one virtual thread per request.
+ */
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsEndpointLoadTest extends AbstractEndpointLoadTest {
+
+    @Override
+    String threading() {
+        return "virtual";
+    }
+}
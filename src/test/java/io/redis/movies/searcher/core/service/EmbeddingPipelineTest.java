@@ -0,0 +1,139 @@
+package io.redis.movies.searcher.core.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddingPipelineTest {
+
+    private static List<EmbeddingPipeline.Item> page(int from, int to) {
+        List<EmbeddingPipeline.Item> items = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            items.add(new EmbeddingPipeline.Item("movie:" + i, "plot " + i));
+        }
+        return items;
+    }
+
+    private static List<byte[]> fakeEmbed(List<String> texts) {
+        return texts.stream().map(text -> text.getBytes(StandardCharsets.UTF_8)).toList();
+    }
+
+    @Test
+    void testEveryItemIsEmbeddedInModelSizedBatchesAndWritten() throws InterruptedException {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        Map<String, String> written = new ConcurrentHashMap<>();
+        var pipeline = new EmbeddingPipeline("test", 8, 3, 2,
+                texts -> {
+                    batchSizes.add(texts.size());
+                    return fakeEmbed(texts);
+                },
+                batch -> {
+                    for (int i = 0; i < batch.keys().size(); i++) {
+                        written.put(batch.keys().get(i), new String(batch.vectors().get(i), StandardCharsets.UTF_8));
+                    }
+                });
+
+        EmbeddingPipeline.Report report = pipeline.run(sink -> {
+            for (int i = 0; i < 100; i += 10) {
+                sink.accept(page(i, i + 10));
+            }
+        });
+
+        assertEquals(100, report.read());
+        assertEquals(100, report.embedded());
+        assertEquals(100, report.written());
+        assertEquals(100, written.size());
+        assertEquals("plot 42", written.get("movie:42"));
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 8));
+    }
+
+    @Test
+    void testSlowWriterHoldsBackTheReader() throws InterruptedException {
+        AtomicInteger maxAhead = new AtomicInteger();
+        AtomicInteger read = new AtomicInteger();
+        AtomicInteger written = new AtomicInteger();
+        var pipeline = new EmbeddingPipeline("test", 4, 2, 1,
+                EmbeddingPipelineTest::fakeEmbed,
+                batch -> {
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    written.addAndGet(batch.keys().size());
+                });
+
+        pipeline.run(sink -> {
+            for (int i = 0; i < 200; i++) {
+                sink.accept(page(i, i + 1));
+                read.incrementAndGet();
+                maxAhead.accumulateAndGet(read.get() - written.get(), Math::max);
+            }
+        });
+
+        // 4 queued texts, 2 batches being embedded, 1 queued batch, 1 being written and the page handed over
+        assertEquals(4 + 2 * 4 + 4 + 4, pipeline.capacity());
+        assertTrue(maxAhead.get() <= pipeline.capacity() + 1, "Reader ran " + maxAhead.get() + " items ahead");
+        assertEquals(200, written.get());
+    }
+
+    @Test
+    void testFailedBatchesAreCountedAndTheRestStillWritten() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        var pipeline = new EmbeddingPipeline("test", 5, 1, 2,
+                texts -> {
+                    if (calls.incrementAndGet() == 1) {
+                        throw new IllegalStateException("model failure");
+                    }
+                    return fakeEmbed(texts);
+                },
+                batch -> {});
+
+        EmbeddingPipeline.Report report = pipeline.run(sink -> sink.accept(page(0, 20)));
+
+        assertEquals(5, report.failed());
+        assertEquals(15, report.written());
+    }
+
+    @Test
+    void testFieldsTravelWithTheirVectorsAndOnlyWrittenKeysSettle() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        Map<String, String> titles = new ConcurrentHashMap<>();
+        List<String> settled = new CopyOnWriteArrayList<>();
+        var pipeline = new EmbeddingPipeline("test", 5, 1, 2,
+                texts -> {
+                    if (calls.incrementAndGet() == 2) {
+                        throw new IllegalStateException("model failure");
+                    }
+                    return fakeEmbed(texts);
+                },
+                batch -> {
+                    for (int i = 0; i < batch.keys().size(); i++) {
+                        titles.put(batch.keys().get(i), batch.fields().get(i).get("title"));
+                    }
+                },
+                settled::addAll);
+
+        pipeline.run(sink -> {
+            List<EmbeddingPipeline.Item> items = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                items.add(new EmbeddingPipeline.Item("movie:" + i, "plot " + i, Map.of("title", "title " + i)));
+            }
+            sink.accept(items);
+        });
+
+        assertEquals(15, titles.size());
+        assertTrue(titles.entrySet().stream()
+                .allMatch(entry -> entry.getValue().equals("title " + entry.getKey().substring("movie:".length()))));
+        assertEquals(titles.keySet(), Set.copyOf(settled));
+    }
+}
@@ -0,0 +1,55 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.core.domain.FusionStrategy;
+import io.redis.movies.searcher.core.dto.HybridSearchOptions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HybridQueryBuilderTest {
+
+    private static final byte[] VECTOR = new byte[1536];
+
+    private static List<String> render(byte[][] args) {
+        return Arrays.stream(args, 0, args.length - 1)
+                .map(arg -> new String(arg, StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    @Test
+    void testEscapeQueryMatchesRegexImplementation() {
+        for (String query : List.of("Back to the Future", "  Dude who   teaches\trock ",
+                "Mission: Impossible - Ghost Protocol", "Se7en (1995)", "C:\\path", "WALL·E")) {
+            String expected = query.replaceAll("([,.<>{}\\[\\]\"':;!@#$%^&*()\\-+=~\\\\])", "\\\\$1")
+                    .replaceAll("\\s+", "\\ ");
+            assertEquals(expected, HybridQueryBuilder.escapeQuery(query));
+        }
+    }
+
+    @Test
+    void testBuildsLinearFusion() {
+        var options = new HybridSearchOptions(FusionStrategy.LINEAR, 0.3, 0.7, 60, 0, null);
+
+        byte[][] args = HybridQueryBuilder.build("Apes", VECTOR, options, 4);
+
+        assertEquals(List.of("movie_index", "SEARCH", "Apes", "VSIM", "@plotEmbedding", "$BLOB", "KNN", "2", "K", "4",
+                "COMBINE", "LINEAR", "4", "ALPHA", "0.3", "BETA", "0.7",
+                "LIMIT", "0", "4", "PARAMS", "2", "BLOB"), render(args));
+        assertSame(VECTOR, args[args.length - 1]);
+    }
+
+    @Test
+    void testBuildsRrfFusionWithVectorTuning() {
+        var options = new HybridSearchOptions(FusionStrategy.RRF, 0.0, 1.0, 20, 50, 100);
+
+        byte[][] args = HybridQueryBuilder.build("Apes", VECTOR, options, 10);
+
+        assertEquals(List.of("movie_index", "SEARCH", "Apes", "VSIM", "@plotEmbedding", "$BLOB", "KNN", "4", "K", "50",
+                "EF_RUNTIME", "100", "COMBINE", "RRF", "2", "CONSTANT", "20",
+                "LIMIT", "0", "10", "PARAMS", "2", "BLOB"), render(args));
+    }
+}
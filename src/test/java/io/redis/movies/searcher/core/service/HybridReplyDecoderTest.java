@@ -0,0 +1,60 @@
+package io.redis.movies.searcher.core.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HybridReplyDecoderTest {
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testDecodesFlatReply() {
+        List<Object> reply = List.of(
+                bytes("total_results"), 3L,
+                bytes("results"), List.of(
+                        List.of(bytes("__key"), bytes("movie:42"), bytes("__score"), bytes("0.9")),
+                        List.of(bytes("__score"), bytes("0.8"), bytes("__key"), bytes("movie:7")),
+                        List.of(bytes("__score"), bytes("0.1"))
+                ),
+                bytes("warnings"), List.of(),
+                bytes("execution_time"), bytes("1.25")
+        );
+
+        var decoded = HybridReplyDecoder.decode(reply);
+
+        assertEquals(3, decoded.totalResults());
+        assertEquals(List.of("movie:42", "movie:7"), decoded.keys());
+        assertEquals(1.25, decoded.executionTime());
+        assertTrue(decoded.warnings().isEmpty());
+    }
+
+    @Test
+    void testDecodesMapReply() {
+        Map<Object, Object> result = new LinkedHashMap<>();
+        result.put("__key", bytes("movie:1"));
+        Map<Object, Object> reply = new LinkedHashMap<>();
+        reply.put("total_results", bytes("12"));
+        reply.put("results", List.of(result));
+        reply.put("warnings", List.of(bytes("Timeout limit was reached")));
+
+        var decoded = HybridReplyDecoder.decode(reply);
+
+        assertEquals(12, decoded.totalResults());
+        assertEquals(List.of("movie:1"), decoded.keys());
+        assertEquals(List.of("Timeout limit was reached"), decoded.warnings());
+    }
+
+    @Test
+    void testUnexpectedReplyIsEmpty() {
+        assertSame(HybridReplyDecoder.EMPTY, HybridReplyDecoder.decode(null));
+        assertTrue(HybridReplyDecoder.decode(List.of(bytes("results"))).keys().isEmpty());
+    }
+}
@@ -0,0 +1,71 @@
+package io.redis.movies.searcher.core.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.redis.movies.searcher.SearcherProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InferenceExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InferenceExecutor executor = newExecutor(1, 1);
+
+    private InferenceExecutor newExecutor(int threads, int queueSize) {
+        var source = new MapConfigurationPropertySource(Map.of(
+                "searcher.inference.threads", Integer.toString(threads),
+                "searcher.inference.queue-size", Integer.toString(queueSize)));
+        var properties = new Binder(source).bindOrCreate("searcher", SearcherProperties.class);
+        return new InferenceExecutor(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testRejectsOnceTheQueueIsFull() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = executor.submit(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "first";
+        });
+        running.await();
+        CompletableFuture<String> queued = executor.submit(() -> "queued");
+
+        assertEquals(1, meterRegistry.get("search.inference.queue.depth").gauge().value());
+        assertEquals(1, meterRegistry.get("search.inference.active").gauge().value());
+        assertThrows(RejectedExecutionException.class, () -> executor.run(() -> "rejected"));
+        assertEquals(1, meterRegistry.get("search.inference.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("first", first.join());
+        assertEquals("queued", queued.join());
+        assertEquals(2, meterRegistry.get("search.inference").timer().count());
+    }
+
+    @Test
+    void testRunRethrowsWhatTheWorkThrew() {
+        var failure = new IllegalStateException("model not loaded");
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> executor.run(() -> {
+            throw failure;
+        })));
+        assertEquals("ok", executor.run(() -> "ok"));
+    }
+}
@@ -0,0 +1,73 @@
+package io.redis.movies.searcher.core.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedVectorsTest {
+
+    private static float[] randomVector(long seed, int dimension) {
+        Random random = new Random(seed);
+        float[] vector = new float[dimension];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) random.nextGaussian() * 0.1f;
+        }
+        return vector;
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0, normA = 0, normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+
+    @Test
+    void testSimdDotProductMatchesScalarOnAnyLength() {
+        for (int dimension : new int[] {1, 7, 37, VectorCodec.DIMENSION}) {
+            float[] a = randomVector(dimension, dimension);
+            float[] b = randomVector(dimension + 1, dimension);
+            assertEquals(DotProduct.scalar(a, b), DotProduct.Simd.dot(a, b), 1e-5, "dimension " + dimension);
+        }
+    }
+
+    @Test
+    void testCosineOfStoredVectors() throws IOException {
+        MappedVectors vectors = new MappedVectors(10, VectorCodec.DIMENSION);
+        float[] query = randomVector(0, VectorCodec.DIMENSION);
+        float[] first = randomVector(1, VectorCodec.DIMENSION);
+        float[] second = randomVector(2, VectorCodec.DIMENSION);
+        assertTrue(vectors.put(3, first));
+        assertTrue(vectors.put(7, second));
+
+        float[] scores = vectors.cosine(query, new int[] {7, 3});
+
+        assertEquals(cosine(query, second), scores[0], 1e-5);
+        assertEquals(cosine(query, first), scores[1], 1e-5);
+        assertEquals(1.0, vectors.cosine(first, new int[] {3})[0], 1e-5);
+        assertEquals(2, vectors.size());
+    }
+
+    @Test
+    void testMissingVectorsScoreNaN() throws IOException {
+        MappedVectors vectors = new MappedVectors(10, VectorCodec.DIMENSION);
+        float[] vector = randomVector(1, VectorCodec.DIMENSION);
+        assertFalse(vectors.put(10, vector));
+        assertFalse(vectors.put(4, new float[VectorCodec.DIMENSION]));
+        assertTrue(vectors.put(5, vector));
+        vectors.remove(5);
+
+        float[] scores = vectors.cosine(vector, new int[] {4, 5, 10, -1});
+
+        for (float score : scores) {
+            assertTrue(Float.isNaN(score));
+        }
+        assertEquals(0, vectors.size());
+    }
+}
@@ -0,0 +1,165 @@
+package io.redis.movies.searcher.core.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.redis.movies.searcher.SearcherProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryEmbeddingCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private QueryEmbeddingCache newCache(DataSize maxSize) {
+        var source = new MapConfigurationPropertySource(Map.of("searcher.embedding-cache.max-size", maxSize.toString()));
+        var properties = new Binder(source).bindOrCreate("searcher", SearcherProperties.class);
+        return new QueryEmbeddingCache(properties, meterRegistry);
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("search.embedding.cache.requests", "result", result).count();
+    }
+
+    @Test
+    void testNormalizedQueriesShareOneEntry() {
+        var cache = newCache(DataSize.ofMegabytes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("Back to the Future", query -> {
+            loads.incrementAndGet();
+            return new byte[1536];
+        });
+        cache.get("  back   TO the future ", query -> {
+            loads.incrementAndGet();
+            return new byte[1536];
+        });
+
+        assertEquals(1, loads.get());
+        assertEquals(1, count("hit"));
+        assertEquals(1, count("miss"));
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedWhenOverBudget() {
+        // Room for two 1536-byte vectors, but not three
+        var cache = newCache(DataSize.ofBytes(2 * 1700));
+
+        cache.get("alien", query -> new byte[1536]);
+        cache.get("aliens", query -> new byte[1536]);
+        cache.get("alien", query -> new byte[1536]);
+        cache.get("alien 3", query -> new byte[1536]);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.getIfPresent("alien"));
+        assertNull(cache.getIfPresent("aliens"));
+        assertTrue(cache.bytesHeld() <= 2 * 1700);
+    }
+
+    @Test
+    void testConcurrentMissesShareOneComputation() throws Exception {
+        var cache = newCache(DataSize.ofMegabytes(1));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<byte[]> first = executor.submit(() -> cache.get("dude who teaches rock", query -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                try {
+                    releaseLoader.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new byte[1536];
+            }));
+            loaderStarted.await();
+
+            List<Future<byte[]>> followers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                followers.add(executor.submit(() -> cache.get("Dude who teaches rock", query -> {
+                    loads.incrementAndGet();
+                    return new byte[1536];
+                })));
+            }
+            while (count("coalesced") < followers.size()) {
+                Thread.onSpinWait();
+            }
+            releaseLoader.countDown();
+
+            byte[] vector = first.get();
+            for (Future<byte[]> follower : followers) {
+                assertSame(vector, follower.get());
+            }
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(8, count("coalesced"));
+    }
+
+    @Test
+    void testErrorInTheLoaderReachesEveryWaiter() throws Exception {
+        var cache = newCache(DataSize.ofMegabytes(1));
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<byte[]> first = executor.submit(() -> cache.get("alien", query -> {
+                loaderStarted.countDown();
+                try {
+                    releaseLoader.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new LinkageError("model failed to load");
+            }));
+            loaderStarted.await();
+            Future<byte[]> follower = executor.submit(() -> cache.get("alien", query -> new byte[1536]));
+            while (count("coalesced") < 1) {
+                Thread.onSpinWait();
+            }
+            releaseLoader.countDown();
+
+            assertInstanceOf(LinkageError.class, assertThrows(ExecutionException.class, first::get).getCause());
+            assertInstanceOf(LinkageError.class,
+                    assertThrows(ExecutionException.class, () -> follower.get(10, TimeUnit.SECONDS)).getCause());
+        }
+
+        // The failed computation is gone, so the next caller loads again
+        assertEquals(1536, cache.get("alien", query -> new byte[1536]).length);
+    }
+
+    @Test
+    void testGetAllLoadsOnlyMissesInOneCall() {
+        var cache = newCache(DataSize.ofMegabytes(1));
+        byte[] cached = cache.get("alien", query -> new byte[1536]);
+        List<List<String>> loads = new ArrayList<>();
+
+        List<byte[]> vectors = cache.getAll(List.of("Alien", "aliens", "alien 3", " ALIENS "), queries -> {
+            loads.add(queries);
+            return queries.stream().map(query -> new byte[1536]).toList();
+        });
+
+        assertEquals(List.of(List.of("aliens", "alien 3")), loads);
+        assertEquals(4, vectors.size());
+        assertSame(cached, vectors.get(0));
+        assertSame(vectors.get(1), vectors.get(3));
+        assertSame(vectors.get(2), cache.getIfPresent("alien 3"));
+        assertEquals(3, count("miss"));
+        assertEquals(1, count("hit"));
+    }
+}
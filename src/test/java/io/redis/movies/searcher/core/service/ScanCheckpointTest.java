@@ -0,0 +1,67 @@
+package io.redis.movies.searcher.core.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanCheckpointTest {
+
+    private final List<ScanCheckpoint.Position> saved = new ArrayList<>();
+    private final ScanCheckpoint checkpoint = new ScanCheckpoint(new ScanCheckpoint.Position("0", 0), saved::add);
+
+    @Test
+    void testCheckpointWaitsForEveryKeyOfThePage() {
+        checkpoint.pageRead("17", 10, List.of("movie:1", "movie:2"));
+        checkpoint.settled(List.of("movie:1"));
+        assertEquals("0", checkpoint.position().cursor());
+        assertTrue(saved.isEmpty());
+
+        checkpoint.settled(List.of("movie:2"));
+        assertEquals(new ScanCheckpoint.Position("17", 10), checkpoint.position());
+        assertEquals(List.of(new ScanCheckpoint.Position("17", 10)), saved);
+    }
+
+    @Test
+    void testLaterPagesDoNotMoveTheCheckpointPastAnUnfinishedOne() {
+        checkpoint.pageRead("17", 10, List.of("movie:1"));
+        checkpoint.pageRead("42", 10, List.of("movie:2"));
+        checkpoint.pageRead("99", 10, List.of());
+
+        checkpoint.settled(List.of("movie:2"));
+        assertEquals("0", checkpoint.position().cursor());
+
+        checkpoint.settled(List.of("movie:1"));
+        assertEquals(new ScanCheckpoint.Position("99", 30), checkpoint.position());
+        assertEquals(1, saved.size());
+    }
+
+    @Test
+    void testPagesWithoutMissingEmbeddingsAdvanceRightAway() {
+        checkpoint.pageRead("17", 10, List.of());
+        assertEquals(new ScanCheckpoint.Position("17", 10), checkpoint.position());
+        assertFalse(checkpoint.complete());
+    }
+
+    @Test
+    void testCompleteOnceTheLastPageHasSettled() {
+        checkpoint.pageRead("17", 10, List.of("movie:1"));
+        checkpoint.pageRead("0", 5, List.of("movie:2"));
+        checkpoint.settled(List.of("movie:1"));
+        assertFalse(checkpoint.complete());
+
+        checkpoint.settled(List.of("movie:2"));
+        assertTrue(checkpoint.complete());
+        assertEquals(new ScanCheckpoint.Position("0", 15), checkpoint.position());
+    }
+
+    @Test
+    void testResumedCheckpointKeepsCountingFromTheSavedPosition() {
+        var resumed = new ScanCheckpoint(new ScanCheckpoint.Position("17", 10), saved::add);
+        resumed.pageRead("0", 10, List.of());
+        assertEquals(new ScanCheckpoint.Position("0", 20), resumed.position());
+        assertTrue(resumed.complete());
+    }
+}
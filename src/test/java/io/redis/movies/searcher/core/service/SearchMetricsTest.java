@@ -0,0 +1,57 @@
+package io.redis.movies.searcher.core.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.redis.movies.searcher.SearcherProperties;
+import io.redis.movies.searcher.core.domain.ResultType;
+import io.redis.movies.searcher.core.domain.SearchMode;
+import io.redis.movies.searcher.core.dto.MovieDTO;
+import io.redis.movies.searcher.core.service.SearchMetrics.Stage;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.data.util.Pair;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SearchMetrics metrics = new SearchMetrics(meterRegistry,
+            new Binder(new MapConfigurationPropertySource(Map.of()))
+                    .bindOrCreate("searcher", SearcherProperties.class));
+
+    private Timer timer(SearchMode mode, Stage stage, ResultType result) {
+        return meterRegistry.find("search.stage")
+                .tags("mode", mode.name(), "stage", stage.name().toLowerCase(), "result", result.name())
+                .timer();
+    }
+
+    @Test
+    void testStagesAreTaggedWithTheFinalResultType() {
+        SearchMetrics.Sample sample = metrics.start(SearchMode.MANUAL, "Apes");
+        List<MovieDTO> movies = sample.time(Stage.FTS, List::of);
+        sample.record(Stage.EMBEDDING, TimeUnit.MILLISECONDS.toNanos(12));
+
+        sample.finish(Pair.of(movies, ResultType.VSS));
+
+        assertEquals(1, timer(SearchMode.MANUAL, Stage.FTS, ResultType.VSS).count());
+        assertEquals(12, timer(SearchMode.MANUAL, Stage.EMBEDDING, ResultType.VSS).totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, timer(SearchMode.MANUAL, Stage.TOTAL, ResultType.VSS).count());
+        assertNull(timer(SearchMode.MANUAL, Stage.VSS, ResultType.VSS));
+    }
+
+    @Test
+    void testStagesFinishingLateAreStillRecorded() {
+        SearchMetrics.Sample sample = metrics.start(SearchMode.SPECULATIVE, "Apes");
+        sample.finish(Pair.of(List.of(), ResultType.FTS));
+
+        sample.record(Stage.VSS, TimeUnit.MILLISECONDS.toNanos(3));
+
+        assertEquals(1, timer(SearchMode.SPECULATIVE, Stage.VSS, ResultType.FTS).count());
+    }
+}
@@ -0,0 +1,82 @@
+package io.redis.movies.searcher.core.service;
+
+import io.redis.movies.searcher.core.domain.VectorDataType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorCodecTest {
+
+    private static float[] randomVector(long seed) {
+        Random random = new Random(seed);
+        float[] vector = new float[VectorCodec.DIMENSION];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (float) random.nextGaussian() * 0.1f;
+        }
+        return vector;
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0, normA = 0, normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+
+    @Test
+    void testFloat32MatchesLittleEndianByteBuffer() {
+        float[] vector = randomVector(1);
+        ByteBuffer expected = ByteBuffer.allocate(vector.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+        for (float component : vector) {
+            expected.putFloat(component);
+        }
+
+        byte[] blob = VectorCodec.encode(vector, VectorDataType.FLOAT32);
+
+        assertArrayEquals(expected.array(), blob);
+        assertArrayEquals(vector, VectorCodec.decode(blob, VectorDataType.FLOAT32));
+    }
+
+    @Test
+    void testReducedPrecisionKeepsDirection() {
+        float[] vector = randomVector(2);
+        byte[] float32 = VectorCodec.encode(vector, VectorDataType.FLOAT32);
+
+        for (VectorDataType type : VectorDataType.values()) {
+            byte[] blob = VectorCodec.convert(float32, VectorDataType.FLOAT32, type);
+
+            assertEquals(VectorCodec.blobSize(type), blob.length, type.name());
+            assertTrue(cosine(vector, VectorCodec.decode(blob, type)) > 0.999, type.name());
+        }
+    }
+
+    @Test
+    void testInt8ScalesLargestComponentTo127() {
+        float[] vector = new float[VectorCodec.DIMENSION];
+        vector[0] = -0.5f;
+        vector[1] = 0.25f;
+
+        byte[] blob = VectorCodec.encode(vector, VectorDataType.INT8);
+
+        assertEquals(-127, blob[0]);
+        assertEquals(64, blob[1]);
+        assertEquals(0, blob[2]);
+    }
+
+    @Test
+    void testBfloat16RoundsToNearestEven() {
+        float[] vector = {1.0f + 0x1.0p-8f, 1.0f + 0x3.0p-8f};
+
+        float[] decoded = VectorCodec.decode(VectorCodec.encode(vector, VectorDataType.BFLOAT16), VectorDataType.BFLOAT16);
+
+        assertEquals(1.0f, decoded[0]);
+        assertEquals(1.0f + 0x1.0p-6f, decoded[1]);
+    }
+}